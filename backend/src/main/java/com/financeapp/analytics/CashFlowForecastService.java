@@ -0,0 +1,127 @@
+package com.financeapp.analytics;
+
+import com.financeapp.dto.ForecastResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Balance forecasts per user. Single requests are computed on demand from the cached
+ * columnar snapshot; a nightly fork/join batch precomputes the default horizons for every
+ * user so the common request is a map lookup. Precomputed forecasts are labelled with the
+ * user's TRANSACTIONS collection version, so a write on any node retires them, and expire at
+ * the end of the day they were made for.
+ */
+@Service
+public class CashFlowForecastService {
+    private static final Logger logger = LoggerFactory.getLogger(CashFlowForecastService.class);
+
+    public static final int[] DEFAULT_HORIZONS = {30, 90, 365};
+
+    // Users per leaf task of the nightly batch
+    private static final int BATCH_THRESHOLD = 64;
+
+    @Autowired
+    private TransactionAnalyticsCache cache;
+
+    @Autowired
+    private TransactionColumnsLoader loader;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Each worker holds a DB connection while loading, so keep this below the pool size
+    @Value("${financeapp.forecast.batch.parallelism:4}")
+    private int parallelism;
+
+    private record Precomputed(long version, ForecastResponse forecast) {}
+
+    private final ConcurrentHashMap<Long, Precomputed> precomputed = new ConcurrentHashMap<>();
+
+    public ForecastResponse forecast(Long userId, int[] horizons) {
+        LocalDate today = LocalDate.now();
+        long version = cache.version(userId);
+        if (Arrays.equals(horizons, DEFAULT_HORIZONS)) {
+            Precomputed stored = precomputed.get(userId);
+            if (stored != null && stored.version() == version && stored.forecast().getAsOf().equals(today)) {
+                return stored.forecast();
+            }
+        }
+        return CashFlowForecaster.forecast(cache.get(userId, version), today, horizons);
+    }
+
+    @Scheduled(cron = "${financeapp.forecast.batchCron:0 30 2 * * *}")
+    public void precomputeAll() {
+        long start = System.nanoTime();
+        List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM users ORDER BY id", Long.class);
+        long[] userIds = ids.stream().mapToLong(Long::longValue).toArray();
+        LocalDate today = LocalDate.now();
+        precomputed.values().removeIf(p -> !p.forecast().getAsOf().equals(today));
+
+        AtomicLong failures = new AtomicLong();
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, parallelism));
+        try {
+            pool.invoke(new PrecomputeTask(userIds, 0, userIds.length, today, failures));
+        } finally {
+            pool.shutdown();
+        }
+        logger.info("Precomputed forecasts for {} users in {} ms ({} failed)",
+                userIds.length - failures.get(), (System.nanoTime() - start) / 1_000_000, failures.get());
+    }
+
+    private void precompute(Long userId, LocalDate today) {
+        // Read before loading, so the stored forecast is never labelled newer than its data
+        long version = cache.version(userId);
+        TransactionColumns columns = cache.getIfPresent(userId, version);
+        if (columns == null) columns = loader.load(userId);
+        ForecastResponse forecast = CashFlowForecaster.forecast(columns, today, DEFAULT_HORIZONS);
+        precomputed.merge(userId, new Precomputed(version, forecast),
+                (old, fresh) -> old.version() > fresh.version() ? old : fresh);
+    }
+
+    private final class PrecomputeTask extends RecursiveAction {
+        private final long[] userIds;
+        private final int from;
+        private final int to;
+        private final LocalDate today;
+        private final AtomicLong failures;
+
+        PrecomputeTask(long[] userIds, int from, int to, LocalDate today, AtomicLong failures) {
+            this.userIds = userIds;
+            this.from = from;
+            this.to = to;
+            this.today = today;
+            this.failures = failures;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= BATCH_THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    try {
+                        precompute(userIds[i], today);
+                    } catch (RuntimeException e) {
+                        failures.incrementAndGet();
+                        logger.warn("Forecast precompute failed for user {}: {}", userIds[i], e.getMessage());
+                    }
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new PrecomputeTask(userIds, from, mid, today, failures),
+                    new PrecomputeTask(userIds, mid, to, today, failures));
+        }
+    }
+}
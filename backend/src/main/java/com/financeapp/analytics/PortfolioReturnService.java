@@ -0,0 +1,273 @@
+package com.financeapp.analytics;
+
+import com.financeapp.dto.PortfolioReturnsResponse;
+import com.financeapp.money.Money;
+import com.financeapp.quote.PriceHistoryStore;
+import com.financeapp.repository.InvestmentRepository;
+import com.financeapp.service.CollectionVersionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Time- and money-weighted portfolio returns over arbitrary windows.
+ *
+ * Each lot counts as bought at its purchase price on the day it was created; holdings that
+ * were sold are no longer in the table and so are not part of the history. Past days are
+ * valued at each symbol's last price of the day in the price history, or at the purchase
+ * price before the symbol has any; today is valued at current prices.
+ *
+ * The daily series of a user is cached for one version of their holdings. Later requests
+ * only append the days that have passed since and re-value today. A nightly batch brings
+ * every user's closed days up to date and stores them in portfolio_return_series, which a
+ * request reads when the series is not in the LRU, so a request costs one lot query (plus
+ * at most one series read) and a pass over the window for XIRR. XIRR itself is not stored:
+ * it depends on the window and on today's prices.
+ */
+@Service
+public class PortfolioReturnService {
+    private static final Logger logger = LoggerFactory.getLogger(PortfolioReturnService.class);
+
+    @Autowired
+    private InvestmentRepository investmentRepository;
+
+    @Autowired
+    private CollectionVersionService collectionVersionService;
+
+    @Autowired
+    private PriceHistoryStore priceHistoryStore;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${financeapp.returns.cacheSize:2000}")
+    private int cacheSize;
+
+    // Each worker holds a DB connection while loading, so keep this below the pool size
+    @Value("${financeapp.returns.batch.parallelism:4}")
+    private int parallelism;
+
+    private record Lots(String[] symbols, int[] shares, long[] purchaseCents, long[] priceCents, int[] openDay) {}
+
+    // One user's series for one version of their holdings; guarded by itself
+    private static final class Cached {
+        final String etag;
+        final PortfolioReturns series;
+        // The last day is today's, valued at intraday prices
+        boolean provisional;
+
+        Cached(String etag, PortfolioReturns series) {
+            this.etag = etag;
+            this.series = series;
+        }
+    }
+
+    // Access-ordered for LRU eviction; guarded by itself
+    private final LinkedHashMap<Long, Cached> cache = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Cached> eldest) {
+            return size() > cacheSize;
+        }
+    };
+
+    /**
+     * Returns from the start of from (clamped to the first purchase) to the end of to
+     * (clamped to today); null dates mean since inception and up to today.
+     */
+    public PortfolioReturnsResponse returns(Long userId, LocalDate from, LocalDate to) {
+        LocalDate today = LocalDate.now();
+        // Read before the lots so a series is never cached under a newer version than its data
+        String etag = collectionVersionService.etag(userId, "returns", CollectionVersionService.Kind.INVESTMENTS);
+        Lots lots = loadLots(userId, today);
+        if (lots.symbols().length == 0) {
+            LocalDate day = to == null || to.isAfter(today) ? today : to;
+            return new PortfolioReturnsResponse(from == null ? day : from, day, Money.ZERO, Money.ZERO, Money.ZERO, null, null);
+        }
+
+        int todayDay = (int) today.toEpochDay();
+        Cached cached;
+        synchronized (cache) {
+            cached = cache.get(userId);
+        }
+        if (cached == null || !cached.etag.equals(etag)) {
+            Cached loaded = new Cached(etag, stored(userId, etag, lots, todayDay));
+            synchronized (cache) {
+                cached = cache.get(userId);
+                if (cached == null || !cached.etag.equals(etag)) {
+                    cached = loaded;
+                    cache.put(userId, cached);
+                }
+            }
+        }
+
+        synchronized (cached) {
+            PortfolioReturns series = cached.series;
+            if (cached.provisional) series.removeLast();
+            appendClosedDays(series, lots, todayDay - 1);
+            appendToday(series, lots, todayDay);
+            cached.provisional = true;
+
+            int toDay = (int) Math.min(to == null ? todayDay : to.toEpochDay(), todayDay);
+            if (toDay < series.startDay()) {
+                // Before the first purchase
+                LocalDate day = LocalDate.ofEpochDay(toDay);
+                return new PortfolioReturnsResponse(from == null ? day : from, day, Money.ZERO, Money.ZERO, Money.ZERO, null, null);
+            }
+            int fromDay = (int) Math.min(Math.max(from == null ? series.startDay() : from.toEpochDay(), series.startDay()), toDay);
+
+            long startValue = series.valueAt(fromDay - 1);
+            long endValue = series.valueAt(toDay);
+            double twr = series.timeWeighted(fromDay, toDay);
+            double xirr = series.moneyWeighted(fromDay, toDay);
+            return new PortfolioReturnsResponse(LocalDate.ofEpochDay(fromDay), LocalDate.ofEpochDay(toDay),
+                    Money.ofMinor(startValue), Money.ofMinor(endValue), Money.ofMinor(series.flows(fromDay, toDay)),
+                    startValue == 0 && series.flows(fromDay, toDay) == 0 ? null : percent(twr),
+                    Double.isNaN(xirr) ? null : percent(xirr));
+        }
+    }
+
+    // The stored closed days for this version of the holdings, or an empty series
+    private PortfolioReturns stored(Long userId, String etag, Lots lots, int todayDay) {
+        List<PortfolioReturns> stored = jdbcTemplate.query(
+                "SELECT start_day, value_cents, flow_cents FROM portfolio_return_series WHERE user_id = ? AND etag = ?",
+                (rs, i) -> PortfolioReturns.restore(rs.getInt(1), decode(rs.getBytes(2)), decode(rs.getBytes(3))),
+                userId, etag);
+        if (!stored.isEmpty() && stored.get(0).endDay() < todayDay) return stored.get(0);
+        int start = Integer.MAX_VALUE;
+        for (int day : lots.openDay()) start = Math.min(start, day);
+        return new PortfolioReturns(start);
+    }
+
+    private void store(Long userId, String etag, PortfolioReturns series, int days) {
+        jdbcTemplate.update("INSERT INTO portfolio_return_series (user_id, etag, start_day, value_cents, flow_cents) " +
+                        "VALUES (?, ?, ?, ?, ?) ON CONFLICT (user_id) DO UPDATE SET etag = EXCLUDED.etag, " +
+                        "start_day = EXCLUDED.start_day, value_cents = EXCLUDED.value_cents, " +
+                        "flow_cents = EXCLUDED.flow_cents, updated_at = now()",
+                userId, etag, series.startDay(), encode(series.values(days)), encode(series.flows(days)));
+    }
+
+    private static byte[] encode(long[] values) {
+        ByteBuffer buffer = ByteBuffer.allocate(values.length * Long.BYTES);
+        buffer.asLongBuffer().put(values);
+        return buffer.array();
+    }
+
+    private static long[] decode(byte[] bytes) {
+        long[] values = new long[bytes.length / Long.BYTES];
+        ByteBuffer.wrap(bytes).asLongBuffer().get(values);
+        return values;
+    }
+
+    private static double percent(double fraction) {
+        return Math.round(fraction * 10000.0) / 100.0;
+    }
+
+    private Lots loadLots(Long userId, LocalDate today) {
+        List<Object[]> rows = investmentRepository.findReturnRowsByUserId(userId);
+        int n = rows.size();
+        Lots lots = new Lots(new String[n], new int[n], new long[n], new long[n], new int[n]);
+        int todayDay = (int) today.toEpochDay();
+        for (int i = 0; i < n; i++) {
+            Object[] row = rows.get(i);
+            lots.symbols()[i] = (String) row[0];
+            lots.shares()[i] = (Integer) row[1];
+            lots.purchaseCents()[i] = Money.of((BigDecimal) row[2]).minorUnits();
+            lots.priceCents()[i] = Money.of((BigDecimal) row[3]).minorUnits();
+            lots.openDay()[i] = (int) Math.min(((LocalDateTime) row[4]).toLocalDate().toEpochDay(), todayDay);
+        }
+        return lots;
+    }
+
+    // Values every day after the series' end through lastDay at that day's closing prices
+    private void appendClosedDays(PortfolioReturns series, Lots lots, int lastDay) {
+        int first = series.endDay() + 1;
+        if (first > lastDay) return;
+        int n = lastDay - first + 1;
+        ZoneId zone = ZoneId.systemDefault();
+        long[] dayEnds = new long[n];
+        for (int i = 0; i < n; i++) {
+            dayEnds[i] = LocalDate.ofEpochDay(first + i + 1L).atStartOfDay(zone).toEpochSecond() - 1;
+        }
+
+        Map<String, long[]> closes = new HashMap<>();
+        long[] values = new long[n];
+        long[] flows = new long[n];
+        for (int lot = 0; lot < lots.symbols().length; lot++) {
+            long[] prices = closes.computeIfAbsent(lots.symbols()[lot], s -> priceHistoryStore.pricesAt(s, dayEnds));
+            long shares = lots.shares()[lot];
+            int open = lots.openDay()[lot] - first;
+            if (open >= n) continue;
+            if (open >= 0) flows[open] = Math.addExact(flows[open], shares * lots.purchaseCents()[lot]);
+            for (int i = Math.max(open, 0); i < n; i++) {
+                long price = prices[i] == 0 ? lots.purchaseCents()[lot] : prices[i];
+                values[i] = Math.addExact(values[i], Math.multiplyExact(shares, price));
+            }
+        }
+        for (int i = 0; i < n; i++) series.append(values[i], flows[i]);
+    }
+
+    private static void appendToday(PortfolioReturns series, Lots lots, int today) {
+        long value = 0;
+        long flow = 0;
+        for (int lot = 0; lot < lots.symbols().length; lot++) {
+            long shares = lots.shares()[lot];
+            value = Math.addExact(value, Math.multiplyExact(shares, lots.priceCents()[lot]));
+            if (lots.openDay()[lot] == today) flow = Math.addExact(flow, shares * lots.purchaseCents()[lot]);
+        }
+        series.append(value, flow);
+    }
+
+    /**
+     * Brings the stored series of every user with investments up to yesterday, so the first
+     * request of the day only re-values today. Works outside the LRU, which holds far fewer
+     * users than the batch visits.
+     */
+    @Scheduled(cron = "${financeapp.returns.batchCron:0 45 2 * * *}")
+    public void precomputeAll() {
+        long start = System.nanoTime();
+        List<Long> userIds = investmentRepository.findUserIdsWithInvestments();
+        AtomicLong failures = new AtomicLong();
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, parallelism));
+        try {
+            pool.submit(() -> userIds.parallelStream().forEach(userId -> {
+                try {
+                    precompute(userId);
+                } catch (RuntimeException e) {
+                    failures.incrementAndGet();
+                    logger.warn("Return precompute failed for user {}: {}", userId, e.getMessage());
+                }
+            })).join();
+        } finally {
+            pool.shutdown();
+        }
+        logger.info("Precomputed portfolio returns for {} users in {} ms ({} failed)",
+                userIds.size() - failures.get(), (System.nanoTime() - start) / 1_000_000, failures.get());
+    }
+
+    private void precompute(Long userId) {
+        LocalDate today = LocalDate.now();
+        int todayDay = (int) today.toEpochDay();
+        String etag = collectionVersionService.etag(userId, "returns", CollectionVersionService.Kind.INVESTMENTS);
+        Lots lots = loadLots(userId, today);
+        if (lots.symbols().length == 0) return;
+        PortfolioReturns series = stored(userId, etag, lots, todayDay);
+        appendClosedDays(series, lots, todayDay - 1);
+        if (series.days() > 0) store(userId, etag, series, series.days());
+    }
+}
@@ -0,0 +1,178 @@
+package com.financeapp.analytics;
+
+import java.util.Arrays;
+
+/**
+ * Daily portfolio series behind the return endpoints: end-of-day market value and the cash
+ * invested during the day, both in cents, for consecutive days from the first purchase.
+ *
+ * Each day's sub-period growth factor is value / (previous value + flow), treating flows as
+ * arriving at the start of the day, and the series keeps a running sum of their logarithms.
+ * The time-weighted return of any window is then exp(sum[to] - sum[from - 1]) - 1, and
+ * appending or replacing the last day costs O(1), so a cached series only grows by the
+ * days since it was last used. Not thread-safe.
+ */
+public final class PortfolioReturns {
+
+    private static final double DAYS_PER_YEAR = 365.0;
+    private static final int MAX_NEWTON_STEPS = 50;
+    private static final double TOLERANCE = 1e-10;
+
+    private final int startDay;
+    private long[] value;
+    private long[] flow;
+    private double[] logGrowth;
+    private int days;
+
+    public PortfolioReturns(int startDay) {
+        this.startDay = startDay;
+        this.value = new long[64];
+        this.flow = new long[64];
+        this.logGrowth = new double[64];
+    }
+
+    public int startDay() { return startDay; }
+    // Epoch day of the last day in the series, startDay - 1 while empty
+    public int endDay() { return startDay + days - 1; }
+    public int days() { return days; }
+
+    public void append(long valueCents, long flowCents) {
+        if (days == value.length) {
+            int capacity = days * 2;
+            value = Arrays.copyOf(value, capacity);
+            flow = Arrays.copyOf(flow, capacity);
+            logGrowth = Arrays.copyOf(logGrowth, capacity);
+        }
+        long base = (days == 0 ? 0 : value[days - 1]) + flowCents;
+        // Nothing held, or nothing left to grow from: the day does not move the return
+        double growth = base <= 0 || valueCents <= 0 ? 0 : Math.log((double) valueCents / base);
+        value[days] = valueCents;
+        flow[days] = flowCents;
+        logGrowth[days] = (days == 0 ? 0 : logGrowth[days - 1]) + growth;
+        days++;
+    }
+
+    // Drops the last day, e.g. a provisional one valued at intraday prices
+    public void removeLast() {
+        if (days > 0) days--;
+    }
+
+    // The first count days' values and flows, for storing; restore() rebuilds the series from them
+    public long[] values(int count) { return Arrays.copyOf(value, count); }
+    public long[] flows(int count) { return Arrays.copyOf(flow, count); }
+
+    public static PortfolioReturns restore(int startDay, long[] values, long[] flows) {
+        PortfolioReturns series = new PortfolioReturns(startDay);
+        for (int i = 0; i < values.length; i++) series.append(values[i], flows[i]);
+        return series;
+    }
+
+    public long valueAt(int epochDay) {
+        int i = epochDay - startDay;
+        return i < 0 ? 0 : value[i];
+    }
+
+    /**
+     * Net cash invested from fromDay through toDay.
+     */
+    public long flows(int fromDay, int toDay) {
+        long total = 0;
+        for (int i = Math.max(fromDay - startDay, 0); i <= toDay - startDay; i++) total += flow[i];
+        return total;
+    }
+
+    /**
+     * Time-weighted return from the end of the day before fromDay to the end of toDay.
+     * Both days must lie in the series.
+     */
+    public double timeWeighted(int fromDay, int toDay) {
+        int from = fromDay - startDay;
+        int to = toDay - startDay;
+        return Math.expm1(logGrowth[to] - (from == 0 ? 0 : logGrowth[from - 1]));
+    }
+
+    /**
+     * Annualized money-weighted return (XIRR) over the same window: the value held at its
+     * start counts as invested on fromDay, each day's flow as invested on that day, and the
+     * value at its end as withdrawn on toDay. NaN when no rate balances the flows, which
+     * includes every one-day window: all of its amounts fall on the same date.
+     */
+    public double moneyWeighted(int fromDay, int toDay) {
+        if (fromDay >= toDay) return Double.NaN;
+        int from = fromDay - startDay;
+        int to = toDay - startDay;
+        // Opening value, one flow per day and the closing value
+        int n = to - from + 3;
+        double[] amounts = new double[n];
+        double[] years = new double[n];
+        int count = 0;
+        long opening = from == 0 ? 0 : value[from - 1];
+        if (opening != 0) amounts[count++] = -opening;
+        for (int i = from; i <= to; i++) {
+            if (flow[i] == 0) continue;
+            amounts[count] = -flow[i];
+            years[count++] = (i - from) / DAYS_PER_YEAR;
+        }
+        amounts[count] = value[to];
+        years[count++] = (to - from) / DAYS_PER_YEAR;
+        return xirr(amounts, years, count);
+    }
+
+    /**
+     * Rate r with sum(amounts[i] / (1 + r)^years[i]) = 0. Newton's method from 10%, falling
+     * back to bisection when it leaves the domain or does not converge.
+     */
+    public static double xirr(double[] amounts, double[] years, int n) {
+        boolean positive = false, negative = false;
+        for (int i = 0; i < n; i++) {
+            if (amounts[i] > 0) positive = true;
+            if (amounts[i] < 0) negative = true;
+        }
+        if (!positive || !negative) return Double.NaN;
+
+        double rate = 0.1;
+        for (int step = 0; step < MAX_NEWTON_STEPS; step++) {
+            double npv = 0;
+            double derivative = 0;
+            double base = 1 + rate;
+            for (int i = 0; i < n; i++) {
+                double discounted = amounts[i] * Math.pow(base, -years[i]);
+                npv += discounted;
+                derivative -= years[i] * discounted / base;
+            }
+            if (derivative == 0 || !Double.isFinite(npv)) break;
+            double next = rate - npv / derivative;
+            if (!(next > -1)) break;
+            if (Math.abs(next - rate) < TOLERANCE) return next;
+            rate = next;
+        }
+        return bisect(amounts, years, n);
+    }
+
+    private static double bisect(double[] amounts, double[] years, int n) {
+        double lo = -0.999999;
+        double hi = 1;
+        double npvLo = npv(amounts, years, n, lo);
+        while (npv(amounts, years, n, hi) * npvLo > 0) {
+            hi *= 10;
+            if (hi > 1e9) return Double.NaN;
+        }
+        for (int step = 0; step < 200 && hi - lo > TOLERANCE; step++) {
+            double mid = (lo + hi) / 2;
+            double npvMid = npv(amounts, years, n, mid);
+            if (npvMid * npvLo > 0) {
+                lo = mid;
+                npvLo = npvMid;
+            } else {
+                hi = mid;
+            }
+        }
+        return (lo + hi) / 2;
+    }
+
+    private static double npv(double[] amounts, double[] years, int n, double rate) {
+        double npv = 0;
+        for (int i = 0; i < n; i++) npv += amounts[i] * Math.pow(1 + rate, -years[i]);
+        return npv;
+    }
+}
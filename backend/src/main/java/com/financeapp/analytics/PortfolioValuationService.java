@@ -0,0 +1,81 @@
+package com.financeapp.analytics;
+
+import com.financeapp.dto.PortfolioValuationResponse;
+import com.financeapp.money.Money;
+import com.financeapp.repository.InvestmentRepository;
+import com.financeapp.service.InvestmentService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Portfolio valuations per user, cached under the ETag of the user's investments. Every
+ * holding change bumps that version and every price tick advances its price part, so a cached
+ * valuation is reused exactly until the next change and checking it costs two index lookups.
+ */
+@Service
+public class PortfolioValuationService {
+
+    @Autowired
+    private InvestmentRepository investmentRepository;
+
+    @Autowired
+    private InvestmentService investmentService;
+
+    @Value("${financeapp.portfolio.cacheSize:10000}")
+    private int cacheSize;
+
+    private record Cached(String etag, PortfolioValuationResponse valuation) {}
+
+    // Access-ordered for LRU eviction; guarded by itself
+    private final LinkedHashMap<Long, Cached> cache = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Cached> eldest) {
+            return size() > cacheSize;
+        }
+    };
+
+    public String etag(Long userId) {
+        return investmentService.etag(userId, "valuation");
+    }
+
+    /**
+     * @param etag the current etag(userId); read before the investments so a valuation is
+     *             never stored under a newer version than the data it was computed from
+     */
+    public PortfolioValuationResponse valuation(Long userId, String etag) {
+        synchronized (cache) {
+            Cached cached = cache.get(userId);
+            if (cached != null && cached.etag().equals(etag)) return cached.valuation();
+        }
+
+        List<Object[]> rows = investmentRepository.findValuationRowsByUserId(userId);
+        int n = rows.size();
+        long[] ids = new long[n];
+        String[] symbols = new String[n];
+        String[] names = new String[n];
+        int[] shares = new int[n];
+        long[] purchaseCents = new long[n];
+        long[] priceCents = new long[n];
+        for (int i = 0; i < n; i++) {
+            Object[] row = rows.get(i);
+            ids[i] = (Long) row[0];
+            symbols[i] = (String) row[1];
+            names[i] = (String) row[2];
+            shares[i] = (Integer) row[3];
+            purchaseCents[i] = Money.of((BigDecimal) row[4]).minorUnits();
+            priceCents[i] = Money.of((BigDecimal) row[5]).minorUnits();
+        }
+        PortfolioValuationResponse valuation = PortfolioValuator.value(ids, symbols, names, shares, purchaseCents, priceCents);
+
+        synchronized (cache) {
+            cache.put(userId, new Cached(etag, valuation));
+        }
+        return valuation;
+    }
+}
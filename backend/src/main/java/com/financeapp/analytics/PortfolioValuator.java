@@ -0,0 +1,79 @@
+package com.financeapp.analytics;
+
+import com.financeapp.dto.PortfolioValuationResponse;
+import com.financeapp.money.Money;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Values a portfolio from primitive columns: prices in cents, lots sorted by symbol so the
+ * lots of one symbol are contiguous. Position, per-symbol and portfolio totals are summed in
+ * a single pass with exact long arithmetic; Money objects are only created for the response.
+ */
+public final class PortfolioValuator {
+
+    private PortfolioValuator() {}
+
+    public static PortfolioValuationResponse value(long[] ids, String[] symbols, String[] names, int[] shares,
+                                                   long[] purchaseCents, long[] priceCents) {
+        int n = ids.length;
+        long[] value = new long[n];
+        long[] cost = new long[n];
+        // Per-symbol accumulators; there are at most n symbols
+        int[] groupStart = new int[n + 1];
+        long[] groupShares = new long[n];
+        long[] groupValue = new long[n];
+        long[] groupCost = new long[n];
+        int groups = 0;
+        long totalValue = 0;
+        long totalCost = 0;
+
+        for (int i = 0; i < n; i++) {
+            value[i] = Math.multiplyExact((long) shares[i], priceCents[i]);
+            cost[i] = Math.multiplyExact((long) shares[i], purchaseCents[i]);
+            if (i == 0 || !symbols[i].equals(symbols[i - 1])) groupStart[groups++] = i;
+            int g = groups - 1;
+            groupShares[g] += shares[i];
+            groupValue[g] = Math.addExact(groupValue[g], value[i]);
+            groupCost[g] = Math.addExact(groupCost[g], cost[i]);
+            totalValue = Math.addExact(totalValue, value[i]);
+            totalCost = Math.addExact(totalCost, cost[i]);
+        }
+        groupStart[groups] = n;
+
+        // Allocation needs the portfolio total, so the response rows are built afterwards
+        List<PortfolioValuationResponse.Position> positions = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            positions.add(new PortfolioValuationResponse.Position(ids[i], symbols[i], names[i], shares[i],
+                    Money.ofMinor(purchaseCents[i]), Money.ofMinor(priceCents[i]),
+                    Money.ofMinor(value[i]), Money.ofMinor(cost[i]), Money.ofMinor(value[i] - cost[i]),
+                    percent(value[i] - cost[i], cost[i]), percent(value[i], totalValue)));
+        }
+
+        List<PortfolioValuationResponse.Holding> holdings = new ArrayList<>(groups);
+        for (int g = 0; g < groups; g++) {
+            int first = groupStart[g];
+            long gain = groupValue[g] - groupCost[g];
+            holdings.add(new PortfolioValuationResponse.Holding(symbols[first], names[first],
+                    groupStart[g + 1] - first, groupShares[g],
+                    Money.ofMinor(perShare(groupCost[g], groupShares[g])),
+                    Money.ofMinor(perShare(groupValue[g], groupShares[g])),
+                    Money.ofMinor(groupValue[g]), Money.ofMinor(groupCost[g]), Money.ofMinor(gain),
+                    percent(gain, groupCost[g]), percent(groupValue[g], totalValue)));
+        }
+
+        return new PortfolioValuationResponse(Money.ofMinor(totalValue), Money.ofMinor(totalCost),
+                Money.ofMinor(totalValue - totalCost), percent(totalValue - totalCost, totalCost), positions, holdings);
+    }
+
+    // Percentage rounded to two decimals
+    static double percent(long part, long whole) {
+        return whole == 0 ? 0 : Math.round(part * 10000.0 / whole) / 100.0;
+    }
+
+    // Cents per share, rounded half up
+    static long perShare(long cents, long shares) {
+        return shares == 0 ? 0 : Math.floorDiv(2 * cents + shares, 2 * shares);
+    }
+}
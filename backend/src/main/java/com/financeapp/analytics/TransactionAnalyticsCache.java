@@ -0,0 +1,124 @@
+package com.financeapp.analytics;
+
+import com.financeapp.service.CollectionVersionService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-user {@link TransactionColumns} snapshots, built lazily from the database and evicted
+ * least-recently-used once their combined size exceeds the configured byte budget.
+ * Each snapshot is labelled with the user's TRANSACTIONS collection version and only served
+ * while that is still current, so writes made on any node retire it. Hit, miss and memory
+ * figures are published as financeapp.analytics.cache.* meters.
+ */
+@Component
+public class TransactionAnalyticsCache {
+    @Autowired
+    private TransactionColumnsLoader loader;
+
+    @Autowired
+    private CollectionVersionService collectionVersionService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${financeapp.analytics.cache.maxBytes:268435456}")
+    private long maxBytes;
+
+    private record Entry(long version, TransactionColumns columns) {}
+
+    // Access-ordered for LRU eviction; guarded by this
+    private final LinkedHashMap<Long, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long currentBytes;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    @PostConstruct
+    public void registerMetrics() {
+        FunctionCounter.builder("financeapp.analytics.cache.hits", hits, AtomicLong::get)
+                .description("Snapshot requests served from the cache").register(meterRegistry);
+        FunctionCounter.builder("financeapp.analytics.cache.misses", misses, AtomicLong::get)
+                .description("Snapshot requests that loaded from the database").register(meterRegistry);
+        FunctionCounter.builder("financeapp.analytics.cache.evictions", evictions, AtomicLong::get)
+                .description("Snapshots evicted over the byte budget").register(meterRegistry);
+        Gauge.builder("financeapp.analytics.cache.entries", this, cache -> cache.stats().get("entries"))
+                .description("Cached snapshots").register(meterRegistry);
+        Gauge.builder("financeapp.analytics.cache.size", this, cache -> cache.stats().get("bytes"))
+                .description("Estimated size of the cached snapshots").baseUnit("bytes").register(meterRegistry);
+        Gauge.builder("financeapp.analytics.cache.max.size", this, cache -> cache.maxBytes)
+                .description("Byte budget of the cache").baseUnit("bytes").register(meterRegistry);
+    }
+
+    public TransactionColumns get(Long userId) {
+        return get(userId, version(userId));
+    }
+
+    /**
+     * Snapshot for the given version of the user's transactions, which the caller read with
+     * version(userId) before this call. A write committed after that read only makes the
+     * loaded snapshot newer than its label, so it is reloaded once more, never served stale.
+     */
+    public TransactionColumns get(Long userId, long version) {
+        TransactionColumns cached = getIfPresent(userId, version);
+        if (cached != null) {
+            hits.incrementAndGet();
+            return cached;
+        }
+        misses.incrementAndGet();
+
+        TransactionColumns loaded = loader.load(userId);
+        synchronized (this) {
+            Entry current = entries.get(userId);
+            if (current == null || current.version() <= version) {
+                if (current != null) currentBytes -= current.columns().estimatedBytes();
+                entries.put(userId, new Entry(version, loaded));
+                currentBytes += loaded.estimatedBytes();
+                evictOverBudget();
+            }
+        }
+        return loaded;
+    }
+
+    // Cached snapshot of that version if there is one, without loading; used by batch jobs that must not fill the cache
+    public synchronized TransactionColumns getIfPresent(Long userId, long version) {
+        Entry entry = entries.get(userId);
+        return entry != null && entry.version() == version ? entry.columns() : null;
+    }
+
+    public long version(Long userId) {
+        return collectionVersionService.version(userId, CollectionVersionService.Kind.TRANSACTIONS);
+    }
+
+    private void evictOverBudget() {
+        Iterator<Map.Entry<Long, Entry>> it = entries.entrySet().iterator();
+        // Always keep the most recent entry, even if it alone exceeds the budget
+        while (currentBytes > maxBytes && entries.size() > 1 && it.hasNext()) {
+            currentBytes -= it.next().getValue().columns().estimatedBytes();
+            it.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    public synchronized Map<String, Long> stats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("hits", hits.get());
+        stats.put("misses", misses.get());
+        stats.put("evictions", evictions.get());
+        stats.put("entries", (long) entries.size());
+        stats.put("bytes", currentBytes);
+        stats.put("maxBytes", maxBytes);
+        return stats;
+    }
+}
@@ -0,0 +1,73 @@
+package com.financeapp.analytics;
+
+import com.financeapp.dto.AnalyticsBucket;
+import com.financeapp.entity.Transaction;
+import com.financeapp.money.Money;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.TextStyle;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Chart and report aggregations computed from the cached columnar snapshot.
+ * Amounts stay in cents until the final result is built.
+ */
+@Service
+public class TransactionAnalyticsService {
+
+    @Autowired
+    private TransactionAnalyticsCache cache;
+
+    public List<AnalyticsBucket> sumByCategory(Long userId, Transaction.TransactionType type, LocalDate from, LocalDate to) {
+        TransactionColumns columns = cache.get(userId);
+        TransactionColumns.Aggregate agg = columns.byCategory(isIncome(type), fromDay(from), toDay(to));
+        List<AnalyticsBucket> result = new ArrayList<>();
+        for (int c = 0; c < agg.buckets(); c++) {
+            if (agg.count(c) > 0) result.add(bucket(columns.categoryName(c), agg.total(c), agg.count(c)));
+        }
+        result.sort(Comparator.comparing(AnalyticsBucket::getTotal).reversed());
+        return result;
+    }
+
+    public List<AnalyticsBucket> sumByMonth(Long userId, Transaction.TransactionType type, YearMonth from, YearMonth to) {
+        TransactionColumns.Aggregate agg = cache.get(userId).byMonth(isIncome(type), from, to);
+        List<AnalyticsBucket> result = new ArrayList<>(agg.buckets());
+        for (int m = 0; m < agg.buckets(); m++) {
+            result.add(bucket(from.plusMonths(m).toString(), agg.total(m), agg.count(m)));
+        }
+        return result;
+    }
+
+    public List<AnalyticsBucket> sumByDayOfWeek(Long userId, Transaction.TransactionType type, LocalDate from, LocalDate to) {
+        TransactionColumns.Aggregate agg = cache.get(userId).byDayOfWeek(isIncome(type), fromDay(from), toDay(to));
+        List<AnalyticsBucket> result = new ArrayList<>(7);
+        for (int d = 0; d < 7; d++) {
+            String label = DayOfWeek.of(d + 1).getDisplayName(TextStyle.FULL, Locale.ENGLISH);
+            result.add(bucket(label, agg.total(d), agg.count(d)));
+        }
+        return result;
+    }
+
+    private static Boolean isIncome(Transaction.TransactionType type) {
+        return type == null ? null : type == Transaction.TransactionType.INCOME;
+    }
+
+    private static int fromDay(LocalDate from) {
+        return from == null ? Integer.MIN_VALUE : (int) from.toEpochDay();
+    }
+
+    private static int toDay(LocalDate to) {
+        return to == null ? Integer.MAX_VALUE : (int) to.toEpochDay();
+    }
+
+    private static AnalyticsBucket bucket(String label, long cents, int count) {
+        return new AnalyticsBucket(label, Money.ofMinor(cents), count);
+    }
+}
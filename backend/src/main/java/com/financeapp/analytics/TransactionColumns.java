@@ -0,0 +1,162 @@
+package com.financeapp.analytics;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable column-oriented snapshot of one user's transactions. Each row is spread over
+ * primitive arrays (epoch day, month index, amount in cents, dictionary-encoded category,
+ * income bit), so aggregations are tight loops with no boxing or BigDecimal arithmetic.
+ */
+public final class TransactionColumns {
+
+    private final int size;
+    private final int[] epochDay;
+    private final int[] monthIndex;   // year * 12 + (month - 1)
+    private final long[] amountCents;
+    private final int[] categoryId;
+    private final long[] incomeBits;  // bit i set when row i is INCOME
+    private final String[] categories;
+
+    TransactionColumns(int size, int[] epochDay, int[] monthIndex, long[] amountCents,
+                       int[] categoryId, long[] incomeBits, String[] categories) {
+        this.size = size;
+        this.epochDay = epochDay;
+        this.monthIndex = monthIndex;
+        this.amountCents = amountCents;
+        this.categoryId = categoryId;
+        this.incomeBits = incomeBits;
+        this.categories = categories;
+    }
+
+    public int size() { return size; }
+    public int categoryCount() { return categories.length; }
+    public String categoryName(int id) { return categories[id]; }
+    public int epochDay(int row) { return epochDay[row]; }
+    public long amountCents(int row) { return amountCents[row]; }
+    public int categoryId(int row) { return categoryId[row]; }
+    public int monthIndex(int row) { return monthIndex[row]; }
+
+    public boolean isIncome(int row) {
+        return (incomeBits[row >>> 6] & (1L << row)) != 0;
+    }
+
+    // Rough retained size, used to bound the cache by bytes
+    public long estimatedBytes() {
+        long bytes = 64L + 4L * epochDay.length + 4L * monthIndex.length + 8L * amountCents.length
+                + 4L * categoryId.length + 8L * incomeBits.length;
+        for (String c : categories) bytes += 48L + 2L * c.length();
+        return bytes;
+    }
+
+    /**
+     * Filter shared by all aggregations. income == null matches both types; day bounds are inclusive.
+     */
+    private boolean matches(int row, Boolean income, int fromDay, int toDay) {
+        int day = epochDay[row];
+        return day >= fromDay && day <= toDay && (income == null || isIncome(row) == income);
+    }
+
+    /** Totals (cents) and counts per category id. */
+    public Aggregate byCategory(Boolean income, int fromDay, int toDay) {
+        Aggregate result = new Aggregate(categories.length);
+        for (int i = 0; i < size; i++) {
+            if (matches(i, income, fromDay, toDay)) result.add(categoryId[i], amountCents[i]);
+        }
+        return result;
+    }
+
+    /** Totals and counts per day of week, Monday = 0. */
+    public Aggregate byDayOfWeek(Boolean income, int fromDay, int toDay) {
+        Aggregate result = new Aggregate(7);
+        for (int i = 0; i < size; i++) {
+            // 1970-01-01 (epoch day 0) was a Thursday
+            if (matches(i, income, fromDay, toDay)) result.add(Math.floorMod(epochDay[i] + 3, 7), amountCents[i]);
+        }
+        return result;
+    }
+
+    /** Totals and counts per month; bucket b is month {@code first.plusMonths(b)}. */
+    public Aggregate byMonth(Boolean income, YearMonth first, YearMonth last) {
+        int firstIndex = first.getYear() * 12 + first.getMonthValue() - 1;
+        int lastIndex = last.getYear() * 12 + last.getMonthValue() - 1;
+        Aggregate result = new Aggregate(Math.max(0, lastIndex - firstIndex + 1));
+        for (int i = 0; i < size; i++) {
+            int m = monthIndex[i];
+            if (m >= firstIndex && m <= lastIndex && (income == null || isIncome(i) == income)) {
+                result.add(m - firstIndex, amountCents[i]);
+            }
+        }
+        return result;
+    }
+
+    public static final class Aggregate {
+        private final long[] totals;
+        private final int[] counts;
+
+        Aggregate(int buckets) {
+            this.totals = new long[buckets];
+            this.counts = new int[buckets];
+        }
+
+        void add(int bucket, long cents) {
+            totals[bucket] = Math.addExact(totals[bucket], cents);
+            counts[bucket]++;
+        }
+
+        public int buckets() { return totals.length; }
+        public long total(int bucket) { return totals[bucket]; }
+        public int count(int bucket) { return counts[bucket]; }
+    }
+
+    /**
+     * Accumulates rows into growable primitive arrays, interning category names as it goes.
+     */
+    static final class Builder {
+        private int size;
+        private int[] epochDay = new int[1024];
+        private int[] monthIndex = new int[1024];
+        private long[] amountCents = new long[1024];
+        private int[] categoryId = new int[1024];
+        private long[] incomeBits = new long[16];
+        private final Map<String, Integer> dictionary = new HashMap<>();
+        private final List<String> categories = new ArrayList<>();
+
+        void add(int day, int year, int month, long cents, String category, boolean income) {
+            if (size == epochDay.length) grow();
+            epochDay[size] = day;
+            monthIndex[size] = year * 12 + month - 1;
+            amountCents[size] = cents;
+            categoryId[size] = dictionary.computeIfAbsent(category, c -> {
+                categories.add(c);
+                return categories.size() - 1;
+            });
+            if (income) incomeBits[size >>> 6] |= 1L << size;
+            size++;
+        }
+
+        private void grow() {
+            int capacity = epochDay.length * 2;
+            epochDay = Arrays.copyOf(epochDay, capacity);
+            monthIndex = Arrays.copyOf(monthIndex, capacity);
+            amountCents = Arrays.copyOf(amountCents, capacity);
+            categoryId = Arrays.copyOf(categoryId, capacity);
+            incomeBits = Arrays.copyOf(incomeBits, (capacity + 63) >>> 6);
+        }
+
+        // Trims the arrays to size so the snapshot retains no slack
+        TransactionColumns build() {
+            return new TransactionColumns(size,
+                    Arrays.copyOf(epochDay, size),
+                    Arrays.copyOf(monthIndex, size),
+                    Arrays.copyOf(amountCents, size),
+                    Arrays.copyOf(categoryId, size),
+                    Arrays.copyOf(incomeBits, (size + 63) >>> 6),
+                    categories.toArray(new String[0]));
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.financeapp.analytics;
+
+import com.financeapp.entity.Transaction;
+import com.financeapp.money.Money;
+import com.financeapp.repository.TransactionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.stream.Stream;
+
+/**
+ * Streams a user's transactions column by column into a {@link TransactionColumns} snapshot.
+ * Only four scalar columns are selected and no entities are hydrated.
+ */
+@Component
+public class TransactionColumnsLoader {
+    private static final Logger logger = LoggerFactory.getLogger(TransactionColumnsLoader.class);
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Transactional(readOnly = true)
+    public TransactionColumns load(Long userId) {
+        long start = System.nanoTime();
+        TransactionColumns.Builder builder = new TransactionColumns.Builder();
+        try (Stream<Object[]> rows = transactionRepository.streamAnalyticsColumnsByUserId(userId)) {
+            rows.forEach(row -> {
+                LocalDate date = (LocalDate) row[0];
+                BigDecimal amount = (BigDecimal) row[1];
+                if (date == null || amount == null) return;
+                builder.add((int) date.toEpochDay(), date.getYear(), date.getMonthValue(),
+                        Money.of(amount).minorUnits(),
+                        row[2] != null ? (String) row[2] : "",
+                        row[3] == Transaction.TransactionType.INCOME);
+            });
+        }
+        TransactionColumns columns = builder.build();
+        logger.debug("Built analytics snapshot for user {}: {} rows, {} bytes in {} ms",
+                userId, columns.size(), columns.estimatedBytes(), (System.nanoTime() - start) / 1_000_000);
+        return columns;
+    }
+}
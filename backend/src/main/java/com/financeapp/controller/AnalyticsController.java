@@ -0,0 +1,61 @@
+package com.financeapp.controller;
+
+import com.financeapp.analytics.TransactionAnalyticsService;
+import com.financeapp.dto.AnalyticsBucket;
+import com.financeapp.entity.Transaction;
+import com.financeapp.entity.User;
+import com.financeapp.security.CurrentUser;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/api/analytics")
+public class AnalyticsController {
+
+    @Autowired
+    private TransactionAnalyticsService analyticsService;
+
+    /**
+     * Example: GET /api/analytics/by-category?type=EXPENSE&from=2024-01-01&to=2024-12-31
+     * type, from and to are optional.
+     */
+    @GetMapping("/by-category")
+    public ResponseEntity<List<AnalyticsBucket>> byCategory(
+            @RequestParam(required = false) Transaction.TransactionType type,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @CurrentUser User user) {
+        return ResponseEntity.ok(analyticsService.sumByCategory(user.getId(), type, from, to));
+    }
+
+    /**
+     * Example: GET /api/analytics/by-month?type=EXPENSE&from=2024-01&to=2024-12 (defaults to the last 12 months)
+     */
+    @GetMapping("/by-month")
+    public ResponseEntity<List<AnalyticsBucket>> byMonth(
+            @RequestParam(required = false) Transaction.TransactionType type,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth from,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth to,
+            @CurrentUser User user) {
+        YearMonth end = to != null ? to : YearMonth.now();
+        YearMonth start = from != null ? from : end.minusMonths(11);
+        if (start.isAfter(end)) return ResponseEntity.badRequest().build();
+        return ResponseEntity.ok(analyticsService.sumByMonth(user.getId(), type, start, end));
+    }
+
+    @GetMapping("/by-day-of-week")
+    public ResponseEntity<List<AnalyticsBucket>> byDayOfWeek(
+            @RequestParam(required = false) Transaction.TransactionType type,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @CurrentUser User user) {
+        return ResponseEntity.ok(analyticsService.sumByDayOfWeek(user.getId(), type, from, to));
+    }
+}
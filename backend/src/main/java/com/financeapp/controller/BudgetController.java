@@ -1,17 +1,25 @@
 package com.financeapp.controller;
 
 import com.financeapp.dto.BudgetRequest;
+import com.financeapp.dto.BudgetResponse;
 import com.financeapp.entity.Budget;
 import com.financeapp.entity.User;
 import com.financeapp.repository.BudgetRepository;
-import com.financeapp.repository.UserRepository;
+import com.financeapp.security.CurrentUser;
+import com.financeapp.service.BudgetSpendingService;
+import com.financeapp.service.CategoryDictionary;
+import com.financeapp.service.ChangeLogService;
+import com.financeapp.service.CollectionVersionService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Collectors;
 
 @CrossOrigin(origins = "*", maxAge = 3600)
 @RestController
@@ -21,84 +29,80 @@ public class BudgetController {
     private BudgetRepository budgetRepository;
 
     @Autowired
-    private UserRepository userRepository;
+    private BudgetSpendingService budgetSpendingService;
 
-    @GetMapping
-    public ResponseEntity<List<Budget>> getUserBudgets(Authentication authentication) {
-        User user = userRepository.findByUsername(authentication.getName()).orElse(null);
-        if (user == null) {
-            return ResponseEntity.notFound().build();
-        }
+    @Autowired
+    private CategoryDictionary categoryDictionary;
+
+    @Autowired
+    private CollectionVersionService collectionVersionService;
 
-        List<Budget> budgets = budgetRepository.findByUser(user);
-        return ResponseEntity.ok(budgets);
+    @Autowired
+    private ChangeLogService changeLogService;
+
+    @GetMapping
+    public ResponseEntity<List<BudgetResponse>> getUserBudgets(@CurrentUser User user, WebRequest webRequest) {
+        // spentAmount follows transaction writes, so both counters feed the ETag
+        String etag = collectionVersionService.etag(user.getId(), null,
+                CollectionVersionService.Kind.BUDGETS, CollectionVersionService.Kind.TRANSACTIONS);
+        if (webRequest.checkNotModified(etag)) return null;
+
+        List<BudgetResponse> budgets = budgetRepository.findByUser(user).stream()
+                .map(BudgetResponse::from)
+                .collect(Collectors.toList());
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache().cachePrivate()).body(budgets);
     }
 
     @PostMapping
-    public ResponseEntity<Budget> createBudget(@Valid @RequestBody BudgetRequest request,
-                                               Authentication authentication) {
-        User user = userRepository.findByUsername(authentication.getName()).orElse(null);
-        if (user == null) {
-            return ResponseEntity.notFound().build();
-        }
-
+    @Transactional
+    public ResponseEntity<BudgetResponse> createBudget(@Valid @RequestBody BudgetRequest request,
+                                               @CurrentUser User user) {
         Budget budget = new Budget(
-                request.getCategory(),
+                categoryDictionary.resolve(user.getId(), request.getCategory()),
                 request.getBudgetedAmount(),
                 request.getPeriod(),
                 user
         );
+        budgetSpendingService.recalculate(budget);
 
         Budget savedBudget = budgetRepository.save(budget);
-        return ResponseEntity.ok(savedBudget);
+        collectionVersionService.bump(user.getId(), CollectionVersionService.Kind.BUDGETS);
+        changeLogService.recordUpsert(user.getId(), ChangeLogService.Entity.BUDGET, savedBudget.getId());
+        return ResponseEntity.ok(BudgetResponse.from(savedBudget));
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<Budget> updateBudget(@PathVariable Long id,
+    @Transactional
+    public ResponseEntity<BudgetResponse> updateBudget(@PathVariable Long id,
                                                @Valid @RequestBody BudgetRequest request,
-                                               Authentication authentication) {
-        User user = userRepository.findByUsername(authentication.getName()).orElse(null);
-        if (user == null) {
-            return ResponseEntity.notFound().build();
-        }
-
-        Budget budget = budgetRepository.findById(id).orElse(null);
+                                               @CurrentUser User user) {
+        // Another user's budget is indistinguishable from a missing one
+        Budget budget = budgetRepository.findByIdAndUserId(id, user.getId()).orElse(null);
         if (budget == null) {
             return ResponseEntity.notFound().build();
         }
 
-        // Check if the budget belongs to the authenticated user
-        if (!budget.getUser().getId().equals(user.getId())) {
-            return ResponseEntity.status(403).body(null); // Forbidden
-        }
-
-        budget.setCategory(request.getCategory());
+        budget.setCategory(categoryDictionary.resolve(user.getId(), request.getCategory()));
         budget.setBudgetedAmount(request.getBudgetedAmount());
         budget.setPeriod(request.getPeriod());
         budget.setUpdatedAt(LocalDateTime.now());
+        budgetSpendingService.recalculate(budget);
 
         Budget updatedBudget = budgetRepository.save(budget);
-        return ResponseEntity.ok(updatedBudget);
+        collectionVersionService.bump(user.getId(), CollectionVersionService.Kind.BUDGETS);
+        changeLogService.recordUpsert(user.getId(), ChangeLogService.Entity.BUDGET, updatedBudget.getId());
+        return ResponseEntity.ok(BudgetResponse.from(updatedBudget));
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<?> deleteBudget(@PathVariable Long id, Authentication authentication) {
-        User user = userRepository.findByUsername(authentication.getName()).orElse(null);
-        if (user == null) {
+    @Transactional
+    public ResponseEntity<?> deleteBudget(@PathVariable Long id, @CurrentUser User user) {
+        if (budgetRepository.deleteByIdAndUserId(id, user.getId()) == 0) {
             return ResponseEntity.notFound().build();
         }
 
-        Budget budget = budgetRepository.findById(id).orElse(null);
-        if (budget == null) {
-            return ResponseEntity.notFound().build();
-        }
-
-        // Check if the budget belongs to the authenticated user
-        if (!budget.getUser().getId().equals(user.getId())) {
-            return ResponseEntity.status(403).body(null); // Forbidden
-        }
-
-        budgetRepository.deleteById(id);
+        collectionVersionService.bump(user.getId(), CollectionVersionService.Kind.BUDGETS);
+        changeLogService.recordDelete(user.getId(), ChangeLogService.Entity.BUDGET, id);
         return ResponseEntity.ok().build();
     }
 }
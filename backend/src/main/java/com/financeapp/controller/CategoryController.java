@@ -0,0 +1,56 @@
+package com.financeapp.controller;
+
+import com.financeapp.dto.CategoryRequest;
+import com.financeapp.dto.CategoryResponse;
+import com.financeapp.dto.MessageResponse;
+import com.financeapp.entity.User;
+import com.financeapp.repository.CategoryRepository;
+import com.financeapp.security.CurrentUser;
+import com.financeapp.service.CategoryDictionary;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/api/categories")
+public class CategoryController {
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private CategoryDictionary categoryDictionary;
+
+    @GetMapping
+    public ResponseEntity<List<CategoryResponse>> getUserCategories(@CurrentUser User user) {
+        List<CategoryResponse> categories = categoryRepository.findByUserOrderByNameAsc(user).stream()
+                .map(CategoryResponse::from)
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(categories);
+    }
+
+    /**
+     * Renames a category. Transactions, budgets and summaries pick up the new name at once,
+     * since they only store the category id.
+     */
+    @PutMapping("/{id}")
+    public ResponseEntity<?> renameCategory(@PathVariable Integer id,
+                                            @Valid @RequestBody CategoryRequest request,
+                                            @CurrentUser User user) {
+        try {
+            return categoryDictionary.rename(user, id, request.getName())
+                    .<ResponseEntity<?>>map(c -> ResponseEntity.ok(CategoryResponse.from(c)))
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (DataIntegrityViolationException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(new MessageResponse("A category with that name already exists"));
+        }
+    }
+}
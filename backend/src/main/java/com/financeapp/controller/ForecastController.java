@@ -0,0 +1,39 @@
+package com.financeapp.controller;
+
+import com.financeapp.analytics.CashFlowForecastService;
+import com.financeapp.analytics.CashFlowForecaster;
+import com.financeapp.dto.ForecastResponse;
+import com.financeapp.entity.User;
+import com.financeapp.security.CurrentUser;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/api/forecast")
+public class ForecastController {
+
+    @Autowired
+    private CashFlowForecastService forecastService;
+
+    /**
+     * Projected balance 30, 90 and 365 days ahead, or at the given horizons.
+     * Example: GET /api/forecast?days=14&days=60
+     */
+    @GetMapping
+    public ResponseEntity<ForecastResponse> getForecast(@RequestParam(required = false) List<Integer> days,
+                                                        @CurrentUser User user) {
+        int[] horizons = CashFlowForecastService.DEFAULT_HORIZONS;
+        if (days != null && !days.isEmpty()) {
+            if (days.size() > 10) return ResponseEntity.badRequest().build();
+            horizons = days.stream().mapToInt(Integer::intValue).sorted().distinct().toArray();
+            if (horizons[0] < 1 || horizons[horizons.length - 1] > CashFlowForecaster.MAX_HORIZON_DAYS) {
+                return ResponseEntity.badRequest().build();
+            }
+        }
+        return ResponseEntity.ok(forecastService.forecast(user.getId(), horizons));
+    }
+}
@@ -1,17 +1,26 @@
 package com.financeapp.controller;
 
+import com.financeapp.analytics.PortfolioReturnService;
+import com.financeapp.analytics.PortfolioValuationService;
 import com.financeapp.dto.InvestmentRequest;
+import com.financeapp.dto.InvestmentResponse;
+import com.financeapp.dto.PortfolioReturnsResponse;
+import com.financeapp.dto.PortfolioValuationResponse;
 import com.financeapp.entity.Investment;
 import com.financeapp.entity.User;
-import com.financeapp.repository.UserRepository;
+import com.financeapp.security.CurrentUser;
 import com.financeapp.service.InvestmentService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Collectors;
 
 @CrossOrigin(origins = "*", maxAge = 3600)
 @RestController
@@ -22,38 +31,76 @@ public class InvestmentController {
     private InvestmentService investmentService;
 
     @Autowired
-    private UserRepository userRepository;
+    private PortfolioValuationService portfolioValuationService;
+
+    @Autowired
+    private PortfolioReturnService portfolioReturnService;
 
     @GetMapping
-    public ResponseEntity<List<Investment>> getUserInvestments(Authentication authentication) {
-        User user = userRepository.findByUsername(authentication.getName()).orElse(null);
-        if (user == null) return ResponseEntity.notFound().build();
+    public ResponseEntity<List<InvestmentResponse>> getUserInvestments(@CurrentUser User user, WebRequest webRequest) {
+        String etag = investmentService.etag(user.getId(), null);
+        if (webRequest.checkNotModified(etag)) return null;
 
-        List<Investment> investments = investmentService.getUserInvestments(user);
-        return ResponseEntity.ok(investments);
+        List<InvestmentResponse> investments = investmentService.getUserInvestments(user).stream()
+                .map(InvestmentResponse::from)
+                .collect(Collectors.toList());
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache().cachePrivate()).body(investments);
     }
 
-    @PostMapping
-    public ResponseEntity<Investment> createInvestment(@Valid @RequestBody InvestmentRequest request,
-                                                       Authentication authentication) {
-        User user = userRepository.findByUsername(authentication.getName()).orElse(null);
-        if (user == null) return ResponseEntity.notFound().build();
+    /**
+     * Market value, cost basis, unrealized gain and allocation per lot, per symbol and for
+     * the whole portfolio.
+     */
+    @GetMapping("/valuation")
+    public ResponseEntity<PortfolioValuationResponse> getValuation(@CurrentUser User user, WebRequest webRequest) {
+        String etag = portfolioValuationService.etag(user.getId());
+        if (webRequest.checkNotModified(etag)) return null;
+
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache().cachePrivate())
+                .body(portfolioValuationService.valuation(user.getId(), etag));
+    }
+
+    /**
+     * Time-weighted and money-weighted (XIRR) return between two days, by default since the
+     * first purchase. Example: GET /api/investments/returns?from=2026-01-01&to=2026-06-30
+     */
+    @GetMapping("/returns")
+    public ResponseEntity<PortfolioReturnsResponse> getReturns(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @CurrentUser User user) {
+        if (from != null && to != null && from.isAfter(to)) return ResponseEntity.badRequest().build();
 
+        return ResponseEntity.ok(portfolioReturnService.returns(user.getId(), from, to));
+    }
+
+    @PostMapping
+    public ResponseEntity<InvestmentResponse> createInvestment(@Valid @RequestBody InvestmentRequest request,
+                                                       @CurrentUser User user) {
         Investment savedInvestment = investmentService.createInvestment(request, user);
-        return ResponseEntity.ok(savedInvestment);
+        return ResponseEntity.ok(InvestmentResponse.from(savedInvestment));
+    }
+
+    // Updates currentPrice of every holding from the backend quote service
+    @PostMapping("/refresh-prices")
+    public ResponseEntity<List<InvestmentResponse>> refreshPrices(@CurrentUser User user) {
+        return ResponseEntity.ok(investmentService.refreshPrices(user).stream()
+                .map(InvestmentResponse::from)
+                .collect(Collectors.toList()));
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<Investment> updateInvestment(@PathVariable Long id,
-                                                       @Valid @RequestBody InvestmentRequest request) {
-        Investment updatedInvestment = investmentService.updateInvestment(id, request);
+    public ResponseEntity<InvestmentResponse> updateInvestment(@PathVariable Long id,
+                                                       @Valid @RequestBody InvestmentRequest request,
+                                                       @CurrentUser Long userId) {
+        Investment updatedInvestment = investmentService.updateInvestment(userId, id, request);
         if (updatedInvestment == null) return ResponseEntity.notFound().build();
-        return ResponseEntity.ok(updatedInvestment);
+        return ResponseEntity.ok(InvestmentResponse.from(updatedInvestment));
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<?> deleteInvestment(@PathVariable Long id) {
-        investmentService.deleteInvestment(id);
+    public ResponseEntity<?> deleteInvestment(@PathVariable Long id, @CurrentUser Long userId) {
+        investmentService.deleteInvestment(userId, id);
         return ResponseEntity.ok().build();
     }
 }
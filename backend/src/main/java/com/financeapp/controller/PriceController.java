@@ -0,0 +1,67 @@
+package com.financeapp.controller;
+
+import com.financeapp.dto.PriceHistoryResponse;
+import com.financeapp.dto.PriceTickBatchRequest;
+import com.financeapp.quote.PriceHistoryStore;
+import com.financeapp.quote.PriceIngestService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/prices")
+public class PriceController {
+
+    static final int MAX_POINTS = 10000;
+
+    @Autowired
+    private PriceIngestService priceIngestService;
+
+    @Autowired
+    private PriceHistoryStore priceHistoryStore;
+
+    @Value("${financeapp.prices.ingestKey:}")
+    private String ingestKey;
+
+    /**
+     * Accepts a batch of symbol-wide price ticks from a market data feed. Ticks are applied
+     * to all holdings of their symbol with the next flush, so 202 means queued, not applied.
+     */
+    @PostMapping("/ticks")
+    public ResponseEntity<Map<String, Integer>> ingestTicks(@RequestHeader(value = "X-Ingest-Key", required = false) String key,
+                                                            @Valid @RequestBody PriceTickBatchRequest request) {
+        if (ingestKey.isEmpty() || key == null || !MessageDigest.isEqual(
+                ingestKey.getBytes(StandardCharsets.UTF_8), key.getBytes(StandardCharsets.UTF_8))) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        priceIngestService.submit(request.getTicks());
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(Map.of("accepted", request.getTicks().size()));
+    }
+
+    /**
+     * Price history of a symbol for charts, e.g.
+     * GET /api/prices/history?symbol=AAPL&from=2026-01-01T00:00:00Z&to=2026-07-01T00:00:00Z.
+     * Ranges with more than maxPoints points are thinned evenly.
+     */
+    @GetMapping("/history")
+    public ResponseEntity<PriceHistoryResponse> getHistory(
+            @RequestParam String symbol,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(defaultValue = "1000") int maxPoints) {
+        if (symbol.isBlank() || from.isAfter(to) || maxPoints < 1 || maxPoints > MAX_POINTS) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(PriceHistoryResponse.from(
+                priceHistoryStore.range(symbol, from.getEpochSecond(), to.getEpochSecond(), maxPoints)));
+    }
+}
@@ -0,0 +1,31 @@
+package com.financeapp.controller;
+
+import com.financeapp.quote.Quote;
+import com.financeapp.quote.QuoteService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/api/quotes")
+public class QuoteController {
+
+    static final int MAX_SYMBOLS = 100;
+
+    @Autowired
+    private QuoteService quoteService;
+
+    /**
+     * Latest quotes keyed by symbol, e.g. GET /api/quotes?symbols=AAPL,MSFT.
+     * Unknown symbols are left out.
+     */
+    @GetMapping
+    public ResponseEntity<Map<String, Quote>> getQuotes(@RequestParam List<String> symbols) {
+        if (symbols.isEmpty() || symbols.size() > MAX_SYMBOLS) return ResponseEntity.badRequest().build();
+        return ResponseEntity.ok(quoteService.getQuotes(symbols));
+    }
+}
@@ -0,0 +1,78 @@
+package com.financeapp.controller;
+
+import com.financeapp.dto.RecurringTransactionRequest;
+import com.financeapp.dto.RecurringTransactionResponse;
+import com.financeapp.entity.RecurringTransaction;
+import com.financeapp.entity.User;
+import com.financeapp.repository.RecurringTransactionRepository;
+import com.financeapp.security.CurrentUser;
+import com.financeapp.service.CategoryDictionary;
+import com.financeapp.service.RecurringTransactionScheduler;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/api/recurring-transactions")
+public class RecurringTransactionController {
+
+    @Autowired
+    private RecurringTransactionRepository recurringTransactionRepository;
+
+    @Autowired
+    private RecurringTransactionScheduler recurringTransactionScheduler;
+
+    @Autowired
+    private CategoryDictionary categoryDictionary;
+
+    @GetMapping
+    public ResponseEntity<List<RecurringTransactionResponse>> getRecurringTransactions(@CurrentUser User user) {
+        List<RecurringTransactionResponse> templates = recurringTransactionRepository.findByUserOrderByIdAsc(user).stream()
+                .map(RecurringTransactionResponse::from)
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(templates);
+    }
+
+    /**
+     * Creates a template. Occurrences that are already due (start date today or earlier)
+     * are materialized immediately; later ones by the scheduler.
+     */
+    @PostMapping
+    public ResponseEntity<RecurringTransactionResponse> createRecurringTransaction(
+            @Valid @RequestBody RecurringTransactionRequest request,
+            @CurrentUser User user) {
+        LocalDate startDate = request.getStartDate() != null ? request.getStartDate() : LocalDate.now();
+        if (request.getEndDate() != null && request.getEndDate().isBefore(startDate)) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        RecurringTransaction template = recurringTransactionScheduler.create(new RecurringTransaction(
+                request.getDescription(),
+                request.getAmount(),
+                categoryDictionary.resolve(user.getId(), request.getCategory()),
+                request.getType(),
+                request.getFrequency(),
+                request.getInterval(),
+                startDate,
+                request.getEndDate(),
+                user
+        ));
+        return ResponseEntity.ok(RecurringTransactionResponse.from(template));
+    }
+
+    // Stops future occurrences; transactions already materialized are kept
+    @DeleteMapping("/{id}")
+    public ResponseEntity<?> deleteRecurringTransaction(@PathVariable Long id, @CurrentUser User user) {
+        RecurringTransaction template = recurringTransactionRepository.findByIdAndUser(id, user).orElse(null);
+        if (template == null) return ResponseEntity.notFound().build();
+
+        recurringTransactionRepository.delete(template);
+        return ResponseEntity.ok().build();
+    }
+}
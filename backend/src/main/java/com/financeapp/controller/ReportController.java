@@ -0,0 +1,100 @@
+package com.financeapp.controller;
+
+import com.financeapp.dto.MessageResponse;
+import com.financeapp.dto.ReportJobRequest;
+import com.financeapp.dto.ReportJobResponse;
+import com.financeapp.entity.ReportJob;
+import com.financeapp.entity.User;
+import com.financeapp.repository.ReportJobRepository;
+import com.financeapp.security.CurrentUser;
+import com.financeapp.service.ReportFileStore;
+import com.financeapp.service.ReportJobService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/api/reports")
+public class ReportController {
+
+    private static final int MAX_RANGE_DAYS = 5 * 366;
+    private static final int RECENT_JOBS = 50;
+
+    @Autowired
+    private ReportJobService reportJobService;
+
+    @Autowired
+    private ReportJobRepository reportJobRepository;
+
+    @Autowired
+    private ReportFileStore fileStore;
+
+    /**
+     * Queues a report and returns its job; poll GET /api/reports/{id} until it has SUCCEEDED,
+     * then fetch /api/reports/{id}/download. An identical request made while a job is still
+     * queued or running returns that job. CATEGORY_BREAKDOWN covers whole months.
+     * Example: POST /api/reports {"type":"MONTHLY_STATEMENT","from":"2024-01-01","to":"2024-01-31"}
+     */
+    @PostMapping
+    public ResponseEntity<?> submitReport(@Valid @RequestBody ReportJobRequest request,
+                                          @CurrentUser User user) {
+        if (request.getFrom().isAfter(request.getTo())
+                || ChronoUnit.DAYS.between(request.getFrom(), request.getTo()) > MAX_RANGE_DAYS) {
+            return ResponseEntity.badRequest().body(new MessageResponse("Invalid report date range"));
+        }
+
+        ReportJob job = reportJobService.submit(user, request.getType(), request.getFormat(),
+                request.getFrom(), request.getTo());
+        if (job.getStatus() == ReportJob.Status.FAILED) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(new MessageResponse(job.getError()));
+        }
+        return ResponseEntity.accepted().body(ReportJobResponse.from(job));
+    }
+
+    @GetMapping
+    public ResponseEntity<List<ReportJobResponse>> getReports(@CurrentUser User user) {
+        List<ReportJobResponse> jobs = reportJobRepository.findByUserOrderByCreatedAtDesc(user, PageRequest.of(0, RECENT_JOBS))
+                .stream()
+                .map(ReportJobResponse::from)
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(jobs);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ReportJobResponse> getReport(@PathVariable Long id, @CurrentUser User user) {
+        return reportJobRepository.findByIdAndUser(id, user)
+                .map(job -> ResponseEntity.ok(ReportJobResponse.from(job)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/{id}/download")
+    public ResponseEntity<?> downloadReport(@PathVariable Long id, @CurrentUser User user) {
+        ReportJob job = reportJobRepository.findByIdAndUser(id, user).orElse(null);
+        if (job == null) return ResponseEntity.notFound().build();
+        if (job.getStatus() != ReportJob.Status.SUCCEEDED) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(new MessageResponse("Report is " + job.getStatus()));
+        }
+
+        FileSystemResource file = new FileSystemResource(fileStore.resolve(job.getResultPath()));
+        if (!file.exists()) return ResponseEntity.status(HttpStatus.GONE).build();
+
+        String filename = job.getType().name().toLowerCase() + "-" + job.getFromDate() + "-" + job.getToDate()
+                + "." + job.getFormat().getExtension();
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(job.getFormat().getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .body(file);
+    }
+}
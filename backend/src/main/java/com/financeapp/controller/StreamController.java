@@ -0,0 +1,42 @@
+package com.financeapp.controller;
+
+import com.financeapp.dto.MessageResponse;
+import com.financeapp.entity.User;
+import com.financeapp.security.CurrentUser;
+import com.financeapp.service.ChangeStreamService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/api/stream")
+public class StreamController {
+
+    @Autowired
+    private ChangeStreamService changeStreamService;
+
+    /**
+     * Server-sent events: "ready" once connected, "changes" carrying the same payload as
+     * GET /api/sync, and "resync" when the client should catch up through /api/sync and
+     * reconnect. Every event id is a sync token, so a reconnecting EventSource resumes from
+     * Last-Event-ID.
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<?> stream(@RequestParam(required = false) String since,
+                                    @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+                                    @CurrentUser User user) throws IOException {
+        try {
+            return ResponseEntity.ok(changeStreamService.subscribe(user.getId(), lastEventId != null ? lastEventId : since));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON).body(new MessageResponse(e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).contentType(MediaType.APPLICATION_JSON)
+                    .body(new MessageResponse(e.getMessage()));
+        }
+    }
+}
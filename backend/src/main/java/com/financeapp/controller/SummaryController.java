@@ -0,0 +1,59 @@
+package com.financeapp.controller;
+
+import com.financeapp.dto.CategoryRollupResponse;
+import com.financeapp.dto.TotalsResponse;
+import com.financeapp.entity.Transaction;
+import com.financeapp.entity.User;
+import com.financeapp.security.CurrentUser;
+import com.financeapp.service.CategoryRollupService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/api/summary")
+public class SummaryController {
+
+    @Autowired
+    private CategoryRollupService categoryRollupService;
+
+    /**
+     * Per-month, per-category totals for dashboards and charts.
+     * Example: GET /api/summary/monthly?from=2024-01&to=2024-12 (defaults to the last 12 months)
+     */
+    @GetMapping("/monthly")
+    public ResponseEntity<List<CategoryRollupResponse>> getMonthlySummary(
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth from,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth to,
+            @CurrentUser User user) {
+        YearMonth end = to != null ? to : YearMonth.now();
+        YearMonth start = from != null ? from : end.minusMonths(11);
+
+        List<CategoryRollupResponse> rows = categoryRollupService
+                .getMonthlyRollups(user, start.atDay(1), end.atDay(1))
+                .stream()
+                .map(r -> new CategoryRollupResponse(
+                        YearMonth.from(r.getMonthStart()).toString(),
+                        r.getCategory().getName(),
+                        r.getType().name(),
+                        r.getTotalAmount(),
+                        r.getTxnCount()
+                ))
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(rows);
+    }
+
+    @GetMapping("/totals")
+    public ResponseEntity<TotalsResponse> getTotals(@CurrentUser User user) {
+        return ResponseEntity.ok(new TotalsResponse(
+                categoryRollupService.getTotalAmount(user, Transaction.TransactionType.INCOME),
+                categoryRollupService.getTotalAmount(user, Transaction.TransactionType.EXPENSE)
+        ));
+    }
+}
@@ -0,0 +1,36 @@
+package com.financeapp.controller;
+
+import com.financeapp.quote.SymbolListing;
+import com.financeapp.quote.SymbolSearchIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/api/symbols")
+public class SymbolController {
+
+    static final int MAX_QUERY_LENGTH = 64;
+
+    @Autowired
+    private SymbolSearchIndex symbolSearchIndex;
+
+    /**
+     * Autocomplete for tickers and company names, e.g. GET /api/symbols/search?q=app&limit=10.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<SymbolListing>> search(@RequestParam String q,
+                                                      @RequestParam(defaultValue = "10") int limit) {
+        if (q.length() > MAX_QUERY_LENGTH || limit < 1 || limit > SymbolSearchIndex.MAX_RESULTS) {
+            return ResponseEntity.badRequest().build();
+        }
+        // Same answer for every user until the listing file changes
+        return ResponseEntity.ok().cacheControl(CacheControl.maxAge(5, TimeUnit.MINUTES).cachePrivate())
+                .body(symbolSearchIndex.search(q, limit));
+    }
+}
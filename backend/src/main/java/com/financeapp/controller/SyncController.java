@@ -0,0 +1,32 @@
+package com.financeapp.controller;
+
+import com.financeapp.dto.MessageResponse;
+import com.financeapp.entity.User;
+import com.financeapp.security.CurrentUser;
+import com.financeapp.service.SyncService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/api/sync")
+public class SyncController {
+
+    @Autowired
+    private SyncService syncService;
+
+    /**
+     * Transactions, budgets and investments created, updated or deleted since the token.
+     * Without a token, or with one that predates the retained history, the response only
+     * carries fullResync and a token to continue from after reloading the lists.
+     */
+    @GetMapping
+    public ResponseEntity<?> sync(@RequestParam(required = false) String since, @CurrentUser User user) {
+        try {
+            return ResponseEntity.ok(syncService.changesSince(user, since));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        }
+    }
+}
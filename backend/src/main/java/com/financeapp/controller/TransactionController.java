@@ -1,95 +1,184 @@
 package com.financeapp.controller;
 
+import com.financeapp.dto.MessageResponse;
+import com.financeapp.dto.TransactionPageResponse;
 import com.financeapp.dto.TransactionRequest;
 import com.financeapp.dto.TransactionResponse;
 import com.financeapp.entity.Transaction;
 import com.financeapp.entity.User;
-import com.financeapp.repository.UserRepository;
+import com.financeapp.dto.TransactionImportResponse;
+import com.financeapp.security.CurrentUser;
+import com.financeapp.service.CollectionVersionService;
+import com.financeapp.service.TransactionExportService;
+import com.financeapp.service.TransactionImportService;
 import com.financeapp.service.TransactionService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @CrossOrigin(origins = "*", maxAge = 3600)
 @RestController
 @RequestMapping("/api/transactions")
 public class TransactionController {
 
+    // Lets browsers keep the list but revalidate it with If-None-Match on every use
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
     @Autowired
     private TransactionService transactionService;
 
     @Autowired
-    private UserRepository userRepository;
+    private TransactionExportService transactionExportService;
+
+    @Autowired
+    private TransactionImportService transactionImportService;
 
+    @Autowired
+    private CollectionVersionService collectionVersionService;
+
+    /**
+     * Without paging parameters this returns the full list (legacy behaviour).
+     * Passing limit and/or cursor switches to keyset pagination; follow the
+     * returned "next" cursor until it is null.
+     */
     @GetMapping
-    public ResponseEntity<List<TransactionResponse>> getUserTransactions(Authentication authentication) {
-        User user = userRepository.findByUsername(authentication.getName()).orElse(null);
-        if (user == null) return ResponseEntity.notFound().build();
-
-        List<TransactionResponse> transactions = transactionService.getUserTransactions(user)
-                .stream()
-                .map(t -> new TransactionResponse(
-                        t.getId(),
-                        t.getDescription(),
-                        t.getAmount(),
-                        t.getCategory(),
-                        t.getType().name(),
-                        t.getTransactionDate()
-                ))
-                .collect(Collectors.toList());
-
-        return ResponseEntity.ok(transactions);
+    public ResponseEntity<?> getUserTransactions(@RequestParam(required = false) Integer limit,
+                                                 @RequestParam(required = false) String cursor,
+                                                 @CurrentUser User user,
+                                                 WebRequest webRequest) {
+        // Unchanged since the client's copy: 304 without reading transactions
+        String etag = collectionVersionService.etag(user.getId(), limit + ":" + cursor,
+                CollectionVersionService.Kind.TRANSACTIONS);
+        if (webRequest.checkNotModified(etag)) return null;
+
+        if (limit != null || cursor != null) {
+            try {
+                TransactionPageResponse page = transactionService.getTransactionPage(user, cursor, limit);
+                return ResponseEntity.ok().cacheControl(REVALIDATE).body(page);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+            }
+        }
+
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(transactionService.getUserTransactionResponses(user));
+    }
+
+    /**
+     * Example: GET /api/transactions/range?from=2024-01-01&to=2024-01-31 (both inclusive)
+     */
+    @GetMapping("/range")
+    public ResponseEntity<List<TransactionResponse>> getTransactionsByDateRange(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @CurrentUser User user) {
+        return ResponseEntity.ok(transactionService.getTransactionResponsesByDateRange(user, from, to));
+    }
+
+    /**
+     * Example: GET /api/transactions/search?q=uber%20eats&page=0&size=20
+     */
+    @GetMapping("/search")
+    public ResponseEntity<?> searchTransactions(@RequestParam String q,
+                                                @RequestParam(defaultValue = "0") int page,
+                                                @RequestParam(required = false) Integer size,
+                                                @CurrentUser User user) {
+        try {
+            return ResponseEntity.ok(transactionService.searchTransactions(user, q, page, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        }
+    }
+
+    @GetMapping("/category/{category}")
+    public ResponseEntity<List<TransactionResponse>> getTransactionsByCategory(@PathVariable String category,
+                                                                               @CurrentUser User user) {
+        return ResponseEntity.ok(transactionService.getTransactionResponsesByCategory(user, category));
+    }
+
+    /**
+     * Streams the full history as CSV or NDJSON. The body is written on an async
+     * thread while rows are read from a database cursor.
+     * Example: GET /api/transactions/export?format=ndjson
+     */
+    @GetMapping("/export")
+    public ResponseEntity<?> exportTransactions(@RequestParam(defaultValue = "csv") String format,
+                                                @CurrentUser User user) {
+        TransactionExportService.Format exportFormat = TransactionExportService.Format.fromString(format);
+        if (exportFormat == null) {
+            return ResponseEntity.badRequest().body(new MessageResponse("Unsupported export format: " + format));
+        }
+
+        Long userId = user.getId();
+        StreamingResponseBody body = out -> transactionExportService.export(userId, exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"transactions." + exportFormat.getExtension() + "\"")
+                .body(body);
     }
 
     @PostMapping
     public ResponseEntity<TransactionResponse> createTransaction(@Valid @RequestBody TransactionRequest request,
-                                                                 Authentication authentication) {
-        User user = userRepository.findByUsername(authentication.getName()).orElse(null);
-        if (user == null) return ResponseEntity.notFound().build();
-
+                                                                 @CurrentUser User user) {
         Transaction savedTransaction = transactionService.createTransaction(request, user);
         if (savedTransaction == null) return ResponseEntity.badRequest().body(null);
 
-        TransactionResponse response = new TransactionResponse(
-                savedTransaction.getId(),
-                savedTransaction.getDescription(),
-                savedTransaction.getAmount(),
-                savedTransaction.getCategory(),
-                savedTransaction.getType().name(),
-                savedTransaction.getTransactionDate()
-        );
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(TransactionResponse.from(savedTransaction));
+    }
+
+    /**
+     * Bulk import of a JSON array of transactions. Invalid rows are skipped and
+     * reported by their 1-based position; valid rows are inserted in JDBC batches.
+     * Example: POST /api/transactions/import
+     */
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<TransactionImportResponse> importTransactions(HttpServletRequest request,
+                                                                        @CurrentUser User user) throws IOException {
+        return ResponseEntity.ok(transactionImportService.importJson(user, request.getInputStream()));
+    }
+
+    /**
+     * Same as above for a CSV body with a header row
+     * (description,amount,category,type,transactionDate).
+     */
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<TransactionImportResponse> importTransactionsCsv(HttpServletRequest request,
+                                                                           @CurrentUser User user) throws IOException {
+        Charset charset = request.getCharacterEncoding() != null
+                ? Charset.forName(request.getCharacterEncoding()) : StandardCharsets.UTF_8;
+        Reader reader = new InputStreamReader(request.getInputStream(), charset);
+        return ResponseEntity.ok(transactionImportService.importCsv(user, reader));
     }
 
     @PutMapping("/{id}")
     public ResponseEntity<TransactionResponse> updateTransaction(@PathVariable Long id,
                                                                  @Valid @RequestBody TransactionRequest request,
-                                                                 Authentication authentication) {
-        User user = userRepository.findByUsername(authentication.getName()).orElse(null);
-        if (user == null) return ResponseEntity.notFound().build();
-
-        Transaction updatedTransaction = transactionService.updateTransaction(id, request);
+                                                                 @CurrentUser Long userId) {
+        Transaction updatedTransaction = transactionService.updateTransaction(userId, id, request);
         if (updatedTransaction == null) return ResponseEntity.notFound().build();
 
-        TransactionResponse response = new TransactionResponse(
-                updatedTransaction.getId(),
-                updatedTransaction.getDescription(),
-                updatedTransaction.getAmount(),
-                updatedTransaction.getCategory(),
-                updatedTransaction.getType().name(),
-                updatedTransaction.getTransactionDate()
-        );
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(TransactionResponse.from(updatedTransaction));
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<?> deleteTransaction(@PathVariable Long id, Authentication authentication) {
-        transactionService.deleteTransaction(id);
+    public ResponseEntity<?> deleteTransaction(@PathVariable Long id, @CurrentUser Long userId) {
+        transactionService.deleteTransaction(userId, id);
         return ResponseEntity.ok().build();
     }
 }
@@ -0,0 +1,23 @@
+package com.financeapp.dto;
+
+import com.financeapp.money.Money;
+
+public class AnalyticsBucket {
+    private String label;
+    private Money total;
+    private int count;
+
+    public AnalyticsBucket(String label, Money total, int count) {
+        this.label = label;
+        this.total = total;
+        this.count = count;
+    }
+
+    // Getters & Setters
+    public String getLabel() { return label; }
+    public void setLabel(String label) { this.label = label; }
+    public Money getTotal() { return total; }
+    public void setTotal(Money total) { this.total = total; }
+    public int getCount() { return count; }
+    public void setCount(int count) { this.count = count; }
+}
@@ -0,0 +1,48 @@
+package com.financeapp.dto;
+
+import com.financeapp.entity.Budget;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public class BudgetResponse {
+    private Long id;
+    private String category;
+    private BigDecimal budgetedAmount;
+    private BigDecimal spentAmount;
+    private Budget.BudgetPeriod period;
+    private LocalDate periodStart;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    public static BudgetResponse from(Budget b) {
+        BudgetResponse r = new BudgetResponse();
+        r.id = b.getId();
+        r.category = b.getCategory().getName();
+        r.budgetedAmount = b.getBudgetedAmount();
+        r.spentAmount = b.getSpentAmount();
+        r.period = b.getPeriod();
+        r.periodStart = b.getPeriodStart();
+        r.createdAt = b.getCreatedAt();
+        r.updatedAt = b.getUpdatedAt();
+        return r;
+    }
+
+    // Getters & Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+    public BigDecimal getBudgetedAmount() { return budgetedAmount; }
+    public void setBudgetedAmount(BigDecimal budgetedAmount) { this.budgetedAmount = budgetedAmount; }
+    public BigDecimal getSpentAmount() { return spentAmount; }
+    public void setSpentAmount(BigDecimal spentAmount) { this.spentAmount = spentAmount; }
+    public Budget.BudgetPeriod getPeriod() { return period; }
+    public void setPeriod(Budget.BudgetPeriod period) { this.period = period; }
+    public LocalDate getPeriodStart() { return periodStart; }
+    public void setPeriodStart(LocalDate periodStart) { this.periodStart = periodStart; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
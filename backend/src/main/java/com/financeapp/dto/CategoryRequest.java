@@ -0,0 +1,14 @@
+package com.financeapp.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+public class CategoryRequest {
+    @NotBlank
+    @Size(max = 255)
+    private String name;
+
+    // Getters and Setters
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+}
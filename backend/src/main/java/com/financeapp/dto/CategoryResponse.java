@@ -0,0 +1,23 @@
+package com.financeapp.dto;
+
+import com.financeapp.entity.Category;
+
+public class CategoryResponse {
+    private Integer id;
+    private String name;
+
+    public CategoryResponse(Integer id, String name) {
+        this.id = id;
+        this.name = name;
+    }
+
+    public static CategoryResponse from(Category c) {
+        return new CategoryResponse(c.getId(), c.getName());
+    }
+
+    // Getters & Setters
+    public Integer getId() { return id; }
+    public void setId(Integer id) { this.id = id; }
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+}
@@ -0,0 +1,31 @@
+package com.financeapp.dto;
+
+import com.financeapp.money.Money;
+
+public class CategoryRollupResponse {
+    private String month; // yyyy-MM
+    private String category;
+    private String type;
+    private Money totalAmount;
+    private long count;
+
+    public CategoryRollupResponse(String month, String category, String type, Money totalAmount, long count) {
+        this.month = month;
+        this.category = category;
+        this.type = type;
+        this.totalAmount = totalAmount;
+        this.count = count;
+    }
+
+    // Getters & Setters
+    public String getMonth() { return month; }
+    public void setMonth(String month) { this.month = month; }
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+    public Money getTotalAmount() { return totalAmount; }
+    public void setTotalAmount(Money totalAmount) { this.totalAmount = totalAmount; }
+    public long getCount() { return count; }
+    public void setCount(long count) { this.count = count; }
+}
@@ -0,0 +1,90 @@
+package com.financeapp.dto;
+
+import com.financeapp.money.Money;
+import java.time.LocalDate;
+import java.util.List;
+
+public class ForecastResponse {
+    private LocalDate asOf;
+    private Money currentBalance;
+    private List<Horizon> horizons;
+    private List<RecurringPattern> recurring;
+
+    public ForecastResponse(LocalDate asOf, Money currentBalance, List<Horizon> horizons, List<RecurringPattern> recurring) {
+        this.asOf = asOf;
+        this.currentBalance = currentBalance;
+        this.horizons = horizons;
+        this.recurring = recurring;
+    }
+
+    // Projected totals between asOf (exclusive) and date (inclusive)
+    public static class Horizon {
+        private int days;
+        private LocalDate date;
+        private Money income;
+        private Money expense;
+        private Money balance;
+
+        public Horizon(int days, LocalDate date, Money income, Money expense, Money balance) {
+            this.days = days;
+            this.date = date;
+            this.income = income;
+            this.expense = expense;
+            this.balance = balance;
+        }
+
+        public int getDays() { return days; }
+        public void setDays(int days) { this.days = days; }
+        public LocalDate getDate() { return date; }
+        public void setDate(LocalDate date) { this.date = date; }
+        public Money getIncome() { return income; }
+        public void setIncome(Money income) { this.income = income; }
+        public Money getExpense() { return expense; }
+        public void setExpense(Money expense) { this.expense = expense; }
+        public Money getBalance() { return balance; }
+        public void setBalance(Money balance) { this.balance = balance; }
+    }
+
+    // A detected repeating transaction, projected on its own dates rather than averaged
+    public static class RecurringPattern {
+        private String category;
+        private String type;
+        private Money amount;
+        private String cadence;
+        private int occurrences;
+        private LocalDate nextDate;
+
+        public RecurringPattern(String category, String type, Money amount, String cadence,
+                                int occurrences, LocalDate nextDate) {
+            this.category = category;
+            this.type = type;
+            this.amount = amount;
+            this.cadence = cadence;
+            this.occurrences = occurrences;
+            this.nextDate = nextDate;
+        }
+
+        public String getCategory() { return category; }
+        public void setCategory(String category) { this.category = category; }
+        public String getType() { return type; }
+        public void setType(String type) { this.type = type; }
+        public Money getAmount() { return amount; }
+        public void setAmount(Money amount) { this.amount = amount; }
+        public String getCadence() { return cadence; }
+        public void setCadence(String cadence) { this.cadence = cadence; }
+        public int getOccurrences() { return occurrences; }
+        public void setOccurrences(int occurrences) { this.occurrences = occurrences; }
+        public LocalDate getNextDate() { return nextDate; }
+        public void setNextDate(LocalDate nextDate) { this.nextDate = nextDate; }
+    }
+
+    // Getters & Setters
+    public LocalDate getAsOf() { return asOf; }
+    public void setAsOf(LocalDate asOf) { this.asOf = asOf; }
+    public Money getCurrentBalance() { return currentBalance; }
+    public void setCurrentBalance(Money currentBalance) { this.currentBalance = currentBalance; }
+    public List<Horizon> getHorizons() { return horizons; }
+    public void setHorizons(List<Horizon> horizons) { this.horizons = horizons; }
+    public List<RecurringPattern> getRecurring() { return recurring; }
+    public void setRecurring(List<RecurringPattern> recurring) { this.recurring = recurring; }
+}
@@ -0,0 +1,47 @@
+package com.financeapp.dto;
+
+import com.financeapp.entity.Investment;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public class InvestmentResponse {
+    private Long id;
+    private String symbol;
+    private String name;
+    private Integer shares;
+    private BigDecimal purchasePrice;
+    private BigDecimal currentPrice;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    public static InvestmentResponse from(Investment i) {
+        InvestmentResponse r = new InvestmentResponse();
+        r.id = i.getId();
+        r.symbol = i.getSymbol();
+        r.name = i.getName();
+        r.shares = i.getShares();
+        r.purchasePrice = i.getPurchasePrice();
+        r.currentPrice = i.getCurrentPrice();
+        r.createdAt = i.getCreatedAt();
+        r.updatedAt = i.getUpdatedAt();
+        return r;
+    }
+
+    // Getters & Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public String getSymbol() { return symbol; }
+    public void setSymbol(String symbol) { this.symbol = symbol; }
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+    public Integer getShares() { return shares; }
+    public void setShares(Integer shares) { this.shares = shares; }
+    public BigDecimal getPurchasePrice() { return purchasePrice; }
+    public void setPurchasePrice(BigDecimal purchasePrice) { this.purchasePrice = purchasePrice; }
+    public BigDecimal getCurrentPrice() { return currentPrice; }
+    public void setCurrentPrice(BigDecimal currentPrice) { this.currentPrice = currentPrice; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -0,0 +1,35 @@
+package com.financeapp.dto;
+
+import com.financeapp.money.Money;
+import java.time.LocalDate;
+
+public class PortfolioReturnsResponse {
+    private LocalDate from;
+    private LocalDate to;
+    private Money startValue;
+    private Money endValue;
+    private Money netInvested;
+    // Cumulative over the window; null when nothing was held
+    private Double timeWeightedReturnPercent;
+    // Annualized (XIRR); null when no rate balances the cash flows
+    private Double moneyWeightedReturnPercent;
+
+    public PortfolioReturnsResponse(LocalDate from, LocalDate to, Money startValue, Money endValue, Money netInvested,
+                                    Double timeWeightedReturnPercent, Double moneyWeightedReturnPercent) {
+        this.from = from;
+        this.to = to;
+        this.startValue = startValue;
+        this.endValue = endValue;
+        this.netInvested = netInvested;
+        this.timeWeightedReturnPercent = timeWeightedReturnPercent;
+        this.moneyWeightedReturnPercent = moneyWeightedReturnPercent;
+    }
+
+    public LocalDate getFrom() { return from; }
+    public LocalDate getTo() { return to; }
+    public Money getStartValue() { return startValue; }
+    public Money getEndValue() { return endValue; }
+    public Money getNetInvested() { return netInvested; }
+    public Double getTimeWeightedReturnPercent() { return timeWeightedReturnPercent; }
+    public Double getMoneyWeightedReturnPercent() { return moneyWeightedReturnPercent; }
+}
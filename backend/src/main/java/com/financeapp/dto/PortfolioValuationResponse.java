@@ -0,0 +1,145 @@
+package com.financeapp.dto;
+
+import com.financeapp.money.Money;
+import java.util.List;
+
+public class PortfolioValuationResponse {
+    private Money marketValue;
+    private Money costBasis;
+    private Money unrealizedGain;
+    private double unrealizedGainPercent;
+    private List<Position> positions;
+    private List<Holding> holdings;
+
+    public PortfolioValuationResponse(Money marketValue, Money costBasis, Money unrealizedGain,
+                                      double unrealizedGainPercent, List<Position> positions, List<Holding> holdings) {
+        this.marketValue = marketValue;
+        this.costBasis = costBasis;
+        this.unrealizedGain = unrealizedGain;
+        this.unrealizedGainPercent = unrealizedGainPercent;
+        this.positions = positions;
+        this.holdings = holdings;
+    }
+
+    // One investment row (lot)
+    public static class Position {
+        private Long id;
+        private String symbol;
+        private String name;
+        private int shares;
+        private Money purchasePrice;
+        private Money currentPrice;
+        private Money marketValue;
+        private Money costBasis;
+        private Money unrealizedGain;
+        private double unrealizedGainPercent;
+        private double allocationPercent;
+
+        public Position(Long id, String symbol, String name, int shares, Money purchasePrice, Money currentPrice,
+                        Money marketValue, Money costBasis, Money unrealizedGain,
+                        double unrealizedGainPercent, double allocationPercent) {
+            this.id = id;
+            this.symbol = symbol;
+            this.name = name;
+            this.shares = shares;
+            this.purchasePrice = purchasePrice;
+            this.currentPrice = currentPrice;
+            this.marketValue = marketValue;
+            this.costBasis = costBasis;
+            this.unrealizedGain = unrealizedGain;
+            this.unrealizedGainPercent = unrealizedGainPercent;
+            this.allocationPercent = allocationPercent;
+        }
+
+        public Long getId() { return id; }
+        public void setId(Long id) { this.id = id; }
+        public String getSymbol() { return symbol; }
+        public void setSymbol(String symbol) { this.symbol = symbol; }
+        public String getName() { return name; }
+        public void setName(String name) { this.name = name; }
+        public int getShares() { return shares; }
+        public void setShares(int shares) { this.shares = shares; }
+        public Money getPurchasePrice() { return purchasePrice; }
+        public void setPurchasePrice(Money purchasePrice) { this.purchasePrice = purchasePrice; }
+        public Money getCurrentPrice() { return currentPrice; }
+        public void setCurrentPrice(Money currentPrice) { this.currentPrice = currentPrice; }
+        public Money getMarketValue() { return marketValue; }
+        public void setMarketValue(Money marketValue) { this.marketValue = marketValue; }
+        public Money getCostBasis() { return costBasis; }
+        public void setCostBasis(Money costBasis) { this.costBasis = costBasis; }
+        public Money getUnrealizedGain() { return unrealizedGain; }
+        public void setUnrealizedGain(Money unrealizedGain) { this.unrealizedGain = unrealizedGain; }
+        public double getUnrealizedGainPercent() { return unrealizedGainPercent; }
+        public void setUnrealizedGainPercent(double unrealizedGainPercent) { this.unrealizedGainPercent = unrealizedGainPercent; }
+        public double getAllocationPercent() { return allocationPercent; }
+        public void setAllocationPercent(double allocationPercent) { this.allocationPercent = allocationPercent; }
+    }
+
+    // All lots of one symbol combined; per-share prices are averaged over the lots
+    public static class Holding {
+        private String symbol;
+        private String name;
+        private int lots;
+        private long shares;
+        private Money averageCost;
+        private Money currentPrice;
+        private Money marketValue;
+        private Money costBasis;
+        private Money unrealizedGain;
+        private double unrealizedGainPercent;
+        private double allocationPercent;
+
+        public Holding(String symbol, String name, int lots, long shares, Money averageCost, Money currentPrice,
+                       Money marketValue, Money costBasis, Money unrealizedGain,
+                       double unrealizedGainPercent, double allocationPercent) {
+            this.symbol = symbol;
+            this.name = name;
+            this.lots = lots;
+            this.shares = shares;
+            this.averageCost = averageCost;
+            this.currentPrice = currentPrice;
+            this.marketValue = marketValue;
+            this.costBasis = costBasis;
+            this.unrealizedGain = unrealizedGain;
+            this.unrealizedGainPercent = unrealizedGainPercent;
+            this.allocationPercent = allocationPercent;
+        }
+
+        public String getSymbol() { return symbol; }
+        public void setSymbol(String symbol) { this.symbol = symbol; }
+        public String getName() { return name; }
+        public void setName(String name) { this.name = name; }
+        public int getLots() { return lots; }
+        public void setLots(int lots) { this.lots = lots; }
+        public long getShares() { return shares; }
+        public void setShares(long shares) { this.shares = shares; }
+        public Money getAverageCost() { return averageCost; }
+        public void setAverageCost(Money averageCost) { this.averageCost = averageCost; }
+        public Money getCurrentPrice() { return currentPrice; }
+        public void setCurrentPrice(Money currentPrice) { this.currentPrice = currentPrice; }
+        public Money getMarketValue() { return marketValue; }
+        public void setMarketValue(Money marketValue) { this.marketValue = marketValue; }
+        public Money getCostBasis() { return costBasis; }
+        public void setCostBasis(Money costBasis) { this.costBasis = costBasis; }
+        public Money getUnrealizedGain() { return unrealizedGain; }
+        public void setUnrealizedGain(Money unrealizedGain) { this.unrealizedGain = unrealizedGain; }
+        public double getUnrealizedGainPercent() { return unrealizedGainPercent; }
+        public void setUnrealizedGainPercent(double unrealizedGainPercent) { this.unrealizedGainPercent = unrealizedGainPercent; }
+        public double getAllocationPercent() { return allocationPercent; }
+        public void setAllocationPercent(double allocationPercent) { this.allocationPercent = allocationPercent; }
+    }
+
+    // Getters & Setters
+    public Money getMarketValue() { return marketValue; }
+    public void setMarketValue(Money marketValue) { this.marketValue = marketValue; }
+    public Money getCostBasis() { return costBasis; }
+    public void setCostBasis(Money costBasis) { this.costBasis = costBasis; }
+    public Money getUnrealizedGain() { return unrealizedGain; }
+    public void setUnrealizedGain(Money unrealizedGain) { this.unrealizedGain = unrealizedGain; }
+    public double getUnrealizedGainPercent() { return unrealizedGainPercent; }
+    public void setUnrealizedGainPercent(double unrealizedGainPercent) { this.unrealizedGainPercent = unrealizedGainPercent; }
+    public List<Position> getPositions() { return positions; }
+    public void setPositions(List<Position> positions) { this.positions = positions; }
+    public List<Holding> getHoldings() { return holdings; }
+    public void setHoldings(List<Holding> holdings) { this.holdings = holdings; }
+}
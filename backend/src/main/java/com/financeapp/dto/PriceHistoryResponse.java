@@ -0,0 +1,27 @@
+package com.financeapp.dto;
+
+import com.financeapp.money.Money;
+import com.financeapp.quote.PriceHistoryStore;
+
+// Columnar so that long ranges stay compact: prices[i] was the price at epochSeconds[i]
+public class PriceHistoryResponse {
+    private String symbol;
+    private long[] epochSeconds;
+    private Money[] prices;
+
+    public PriceHistoryResponse(String symbol, long[] epochSeconds, Money[] prices) {
+        this.symbol = symbol;
+        this.epochSeconds = epochSeconds;
+        this.prices = prices;
+    }
+
+    public static PriceHistoryResponse from(PriceHistoryStore.History history) {
+        Money[] prices = new Money[history.priceCents().length];
+        for (int i = 0; i < prices.length; i++) prices[i] = Money.ofMinor(history.priceCents()[i]);
+        return new PriceHistoryResponse(history.symbol(), history.epochSeconds(), prices);
+    }
+
+    public String getSymbol() { return symbol; }
+    public long[] getEpochSeconds() { return epochSeconds; }
+    public Money[] getPrices() { return prices; }
+}
@@ -0,0 +1,16 @@
+package com.financeapp.dto;
+
+import com.financeapp.quote.PriceTick;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+public class PriceTickBatchRequest {
+    @NotEmpty
+    @Size(max = 10000)
+    private List<@Valid PriceTick> ticks;
+
+    public List<PriceTick> getTicks() { return ticks; }
+    public void setTicks(List<PriceTick> ticks) { this.ticks = ticks; }
+}
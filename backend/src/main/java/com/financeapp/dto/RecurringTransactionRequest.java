@@ -0,0 +1,71 @@
+package com.financeapp.dto;
+
+import com.financeapp.entity.RecurringTransaction;
+import com.financeapp.entity.Transaction;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public class RecurringTransactionRequest {
+
+    // Limits match the transactions and categories columns
+    @NotBlank
+    @Size(max = 200)
+    private String description;
+
+    @NotNull
+    @DecimalMin(value = "0.01")
+    @Digits(integer = 8, fraction = 2)
+    private BigDecimal amount;
+
+    @NotBlank
+    @Size(max = 255)
+    private String category;
+
+    @NotNull
+    private Transaction.TransactionType type;
+
+    @NotNull
+    private RecurringTransaction.Frequency frequency;
+
+    // "every N" units of frequency
+    @Min(1)
+    @Max(366)
+    private int interval = 1;
+
+    // Defaults to today
+    private LocalDate startDate;
+
+    private LocalDate endDate;
+
+    // Getters and Setters
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+
+    public Transaction.TransactionType getType() { return type; }
+    public void setType(Transaction.TransactionType type) { this.type = type; }
+
+    public RecurringTransaction.Frequency getFrequency() { return frequency; }
+    public void setFrequency(RecurringTransaction.Frequency frequency) { this.frequency = frequency; }
+
+    public int getInterval() { return interval; }
+    public void setInterval(int interval) { this.interval = interval; }
+
+    public LocalDate getStartDate() { return startDate; }
+    public void setStartDate(LocalDate startDate) { this.startDate = startDate; }
+
+    public LocalDate getEndDate() { return endDate; }
+    public void setEndDate(LocalDate endDate) { this.endDate = endDate; }
+}
@@ -0,0 +1,59 @@
+package com.financeapp.dto;
+
+import com.financeapp.entity.RecurringTransaction;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public class RecurringTransactionResponse {
+    private Long id;
+    private String description;
+    private BigDecimal amount;
+    private String category;
+    private String type;
+    private RecurringTransaction.Frequency frequency;
+    private int interval;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private LocalDate nextDue;
+    private long occurrences;
+
+    public static RecurringTransactionResponse from(RecurringTransaction r) {
+        RecurringTransactionResponse response = new RecurringTransactionResponse();
+        response.id = r.getId();
+        response.description = r.getDescription();
+        response.amount = r.getAmount();
+        response.category = r.getCategory().getName();
+        response.type = r.getType().name();
+        response.frequency = r.getFrequency();
+        response.interval = r.getInterval();
+        response.startDate = r.getStartDate();
+        response.endDate = r.getEndDate();
+        response.nextDue = r.getNextDue();
+        response.occurrences = r.getNextIndex();
+        return response;
+    }
+
+    // Getters & Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+    public RecurringTransaction.Frequency getFrequency() { return frequency; }
+    public void setFrequency(RecurringTransaction.Frequency frequency) { this.frequency = frequency; }
+    public int getInterval() { return interval; }
+    public void setInterval(int interval) { this.interval = interval; }
+    public LocalDate getStartDate() { return startDate; }
+    public void setStartDate(LocalDate startDate) { this.startDate = startDate; }
+    public LocalDate getEndDate() { return endDate; }
+    public void setEndDate(LocalDate endDate) { this.endDate = endDate; }
+    public LocalDate getNextDue() { return nextDue; }
+    public void setNextDue(LocalDate nextDue) { this.nextDue = nextDue; }
+    public long getOccurrences() { return occurrences; }
+    public void setOccurrences(long occurrences) { this.occurrences = occurrences; }
+}
@@ -0,0 +1,31 @@
+package com.financeapp.dto;
+
+import com.financeapp.entity.ReportJob;
+import jakarta.validation.constraints.NotNull;
+import java.time.LocalDate;
+
+public class ReportJobRequest {
+    @NotNull
+    private ReportJob.ReportType type;
+
+    private ReportJob.ReportFormat format = ReportJob.ReportFormat.CSV;
+
+    @NotNull
+    private LocalDate from;
+
+    @NotNull
+    private LocalDate to;
+
+    // Getters and Setters
+    public ReportJob.ReportType getType() { return type; }
+    public void setType(ReportJob.ReportType type) { this.type = type; }
+
+    public ReportJob.ReportFormat getFormat() { return format; }
+    public void setFormat(ReportJob.ReportFormat format) { this.format = format; }
+
+    public LocalDate getFrom() { return from; }
+    public void setFrom(LocalDate from) { this.from = from; }
+
+    public LocalDate getTo() { return to; }
+    public void setTo(LocalDate to) { this.to = to; }
+}
@@ -0,0 +1,59 @@
+package com.financeapp.dto;
+
+import com.financeapp.entity.ReportJob;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public class ReportJobResponse {
+    private Long id;
+    private ReportJob.ReportType type;
+    private ReportJob.ReportFormat format;
+    private LocalDate from;
+    private LocalDate to;
+    private ReportJob.Status status;
+    private Long resultBytes;
+    private String error;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+
+    public static ReportJobResponse from(ReportJob job) {
+        ReportJobResponse r = new ReportJobResponse();
+        r.id = job.getId();
+        r.type = job.getType();
+        r.format = job.getFormat();
+        r.from = job.getFromDate();
+        r.to = job.getToDate();
+        r.status = job.getStatus();
+        r.resultBytes = job.getResultBytes();
+        r.error = job.getError();
+        r.createdAt = job.getCreatedAt();
+        r.startedAt = job.getStartedAt();
+        r.finishedAt = job.getFinishedAt();
+        return r;
+    }
+
+    // Getters & Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public ReportJob.ReportType getType() { return type; }
+    public void setType(ReportJob.ReportType type) { this.type = type; }
+    public ReportJob.ReportFormat getFormat() { return format; }
+    public void setFormat(ReportJob.ReportFormat format) { this.format = format; }
+    public LocalDate getFrom() { return from; }
+    public void setFrom(LocalDate from) { this.from = from; }
+    public LocalDate getTo() { return to; }
+    public void setTo(LocalDate to) { this.to = to; }
+    public ReportJob.Status getStatus() { return status; }
+    public void setStatus(ReportJob.Status status) { this.status = status; }
+    public Long getResultBytes() { return resultBytes; }
+    public void setResultBytes(Long resultBytes) { this.resultBytes = resultBytes; }
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public void setStartedAt(LocalDateTime startedAt) { this.startedAt = startedAt; }
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+    public void setFinishedAt(LocalDateTime finishedAt) { this.finishedAt = finishedAt; }
+}
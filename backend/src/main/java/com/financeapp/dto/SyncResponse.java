@@ -0,0 +1,54 @@
+package com.financeapp.dto;
+
+import com.financeapp.quote.Quote;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Changes since the client's token. When fullResync is set the client must drop its copy
+ * and reload the list endpoints, then continue syncing from token; this also happens after a
+ * category rename, which changes rows the log does not name. prices carries the latest
+ * price of each held symbol that ticked since the token; it applies to every lot of the symbol.
+ */
+public class SyncResponse {
+    private String token;
+    private boolean fullResync;
+    private boolean hasMore; // call again with token right away
+    private List<TransactionResponse> transactions = new ArrayList<>();
+    private List<BudgetResponse> budgets = new ArrayList<>();
+    private List<InvestmentResponse> investments = new ArrayList<>();
+    private List<Quote> prices = new ArrayList<>();
+    private Deleted deleted = new Deleted();
+
+    public static class Deleted {
+        private List<Long> transactions = new ArrayList<>();
+        private List<Long> budgets = new ArrayList<>();
+        private List<Long> investments = new ArrayList<>();
+
+        public List<Long> getTransactions() { return transactions; }
+        public void setTransactions(List<Long> transactions) { this.transactions = transactions; }
+        public List<Long> getBudgets() { return budgets; }
+        public void setBudgets(List<Long> budgets) { this.budgets = budgets; }
+        public List<Long> getInvestments() { return investments; }
+        public void setInvestments(List<Long> investments) { this.investments = investments; }
+    }
+
+    // Getters & Setters
+    public String getToken() { return token; }
+    public void setToken(String token) { this.token = token; }
+    public boolean isFullResync() { return fullResync; }
+    public void setFullResync(boolean fullResync) { this.fullResync = fullResync; }
+    public boolean isHasMore() { return hasMore; }
+    public void setHasMore(boolean hasMore) { this.hasMore = hasMore; }
+    public List<TransactionResponse> getTransactions() { return transactions; }
+    public void setTransactions(List<TransactionResponse> transactions) { this.transactions = transactions; }
+    public List<BudgetResponse> getBudgets() { return budgets; }
+    public void setBudgets(List<BudgetResponse> budgets) { this.budgets = budgets; }
+    public List<InvestmentResponse> getInvestments() { return investments; }
+    public void setInvestments(List<InvestmentResponse> investments) { this.investments = investments; }
+    public List<Quote> getPrices() { return prices; }
+    public void setPrices(List<Quote> prices) { this.prices = prices; }
+    public Deleted getDeleted() { return deleted; }
+    public void setDeleted(Deleted deleted) { this.deleted = deleted; }
+}
@@ -0,0 +1,23 @@
+package com.financeapp.dto;
+
+import com.financeapp.money.Money;
+
+public class TotalsResponse {
+    private Money income;
+    private Money expense;
+    private Money net;
+
+    public TotalsResponse(Money income, Money expense) {
+        this.income = income;
+        this.expense = expense;
+        this.net = income.minus(expense);
+    }
+
+    // Getters & Setters
+    public Money getIncome() { return income; }
+    public void setIncome(Money income) { this.income = income; }
+    public Money getExpense() { return expense; }
+    public void setExpense(Money expense) { this.expense = expense; }
+    public Money getNet() { return net; }
+    public void setNet(Money net) { this.net = net; }
+}
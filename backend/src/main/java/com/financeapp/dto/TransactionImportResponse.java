@@ -0,0 +1,50 @@
+package com.financeapp.dto;
+
+import java.util.List;
+
+public class TransactionImportResponse {
+    private int received;
+    private int imported;
+    private int failed;
+    private long elapsedMs;
+    private double rowsPerSecond;
+    private List<RowError> errors;
+
+    public TransactionImportResponse(int received, int imported, long elapsedMs, List<RowError> errors) {
+        this.received = received;
+        this.imported = imported;
+        this.failed = errors.size();
+        this.elapsedMs = elapsedMs;
+        this.rowsPerSecond = elapsedMs > 0 ? imported * 1000.0 / elapsedMs : imported;
+        this.errors = errors;
+    }
+
+    public static class RowError {
+        private int row;
+        private String message;
+
+        public RowError(int row, String message) {
+            this.row = row;
+            this.message = message;
+        }
+
+        public int getRow() { return row; }
+        public void setRow(int row) { this.row = row; }
+        public String getMessage() { return message; }
+        public void setMessage(String message) { this.message = message; }
+    }
+
+    // Getters & Setters
+    public int getReceived() { return received; }
+    public void setReceived(int received) { this.received = received; }
+    public int getImported() { return imported; }
+    public void setImported(int imported) { this.imported = imported; }
+    public int getFailed() { return failed; }
+    public void setFailed(int failed) { this.failed = failed; }
+    public long getElapsedMs() { return elapsedMs; }
+    public void setElapsedMs(long elapsedMs) { this.elapsedMs = elapsedMs; }
+    public double getRowsPerSecond() { return rowsPerSecond; }
+    public void setRowsPerSecond(double rowsPerSecond) { this.rowsPerSecond = rowsPerSecond; }
+    public List<RowError> getErrors() { return errors; }
+    public void setErrors(List<RowError> errors) { this.errors = errors; }
+}
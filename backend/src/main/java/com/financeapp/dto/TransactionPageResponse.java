@@ -0,0 +1,19 @@
+package com.financeapp.dto;
+
+import java.util.List;
+
+public class TransactionPageResponse {
+    private List<TransactionResponse> items;
+    private String next; // null when there are no more pages
+
+    public TransactionPageResponse(List<TransactionResponse> items, String next) {
+        this.items = items;
+        this.next = next;
+    }
+
+    // Getters & Setters
+    public List<TransactionResponse> getItems() { return items; }
+    public void setItems(List<TransactionResponse> items) { this.items = items; }
+    public String getNext() { return next; }
+    public void setNext(String next) { this.next = next; }
+}
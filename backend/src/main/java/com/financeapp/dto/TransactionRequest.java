@@ -2,21 +2,27 @@ package com.financeapp.dto;
 
 import com.financeapp.entity.Transaction;
 import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 
 public class TransactionRequest {
 
+    // Limits match the transactions and categories columns
     @NotBlank
+    @Size(max = 200)
     private String description;
 
     @NotNull
     @DecimalMin(value = "0.01")
+    @Digits(integer = 8, fraction = 2)
     private BigDecimal amount;
 
     @NotBlank
+    @Size(max = 255)
     private String category;
 
     @NotBlank
@@ -1,5 +1,6 @@
 package com.financeapp.dto;
 
+import com.financeapp.entity.Transaction;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 
@@ -21,6 +22,23 @@ public class TransactionResponse {
         this.transactionDate = transactionDate;
     }
 
+    // Used by JPQL constructor expressions, which select the enum directly
+    public TransactionResponse(Long id, String description, BigDecimal amount,
+                               String category, Transaction.TransactionType type, LocalDate transactionDate) {
+        this(id, description, amount, category, type.name(), transactionDate);
+    }
+
+    public static TransactionResponse from(Transaction t) {
+        return new TransactionResponse(
+                t.getId(),
+                t.getDescription(),
+                t.getAmount(),
+                t.getCategory().getName(),
+                t.getType().name(),
+                t.getTransactionDate()
+        );
+    }
+
     // Getters & Setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
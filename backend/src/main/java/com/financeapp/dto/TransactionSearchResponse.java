@@ -0,0 +1,27 @@
+package com.financeapp.dto;
+
+import java.util.List;
+
+public class TransactionSearchResponse {
+    private List<TransactionResponse> items;
+    private int page;
+    private int size;
+    private boolean hasMore;
+
+    public TransactionSearchResponse(List<TransactionResponse> items, int page, int size, boolean hasMore) {
+        this.items = items;
+        this.page = page;
+        this.size = size;
+        this.hasMore = hasMore;
+    }
+
+    // Getters & Setters
+    public List<TransactionResponse> getItems() { return items; }
+    public void setItems(List<TransactionResponse> items) { this.items = items; }
+    public int getPage() { return page; }
+    public void setPage(int page) { this.page = page; }
+    public int getSize() { return size; }
+    public void setSize(int size) { this.size = size; }
+    public boolean isHasMore() { return hasMore; }
+    public void setHasMore(boolean hasMore) { this.hasMore = hasMore; }
+}
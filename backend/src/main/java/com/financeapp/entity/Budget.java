@@ -2,20 +2,26 @@ package com.financeapp.entity;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.DecimalMin;
-import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
 
 @Entity
-@Table(name = "budgets")
+@Table(name = "budgets", indexes = {
+        @Index(name = "idx_budgets_user_category", columnList = "user_id, category_id")
+})
 public class Budget {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @NotBlank
-    private String category;
+    @NotNull
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "category_id")
+    private Category category;
 
     @NotNull
     @DecimalMin(value = "0.01")
@@ -25,6 +31,10 @@ public class Budget {
     @Column(name = "spent_amount", precision = 10, scale = 2)
     private BigDecimal spentAmount = BigDecimal.ZERO;
 
+    // Start of the period window spentAmount currently covers
+    @Column(name = "period_start")
+    private LocalDate periodStart;
+
     @Column(name = "period")
     @Enumerated(EnumType.STRING)
     private BudgetPeriod period;
@@ -40,13 +50,31 @@ public class Budget {
     private User user;
 
     public enum BudgetPeriod {
-        WEEKLY, MONTHLY, YEARLY
+        WEEKLY, MONTHLY, YEARLY;
+
+        // First day of the window containing the date; weeks start on Monday
+        public LocalDate windowStart(LocalDate date) {
+            switch (this) {
+                case WEEKLY: return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+                case MONTHLY: return date.withDayOfMonth(1);
+                default: return date.withDayOfYear(1);
+            }
+        }
+
+        // Exclusive end of the window starting at windowStart
+        public LocalDate windowEnd(LocalDate windowStart) {
+            switch (this) {
+                case WEEKLY: return windowStart.plusWeeks(1);
+                case MONTHLY: return windowStart.plusMonths(1);
+                default: return windowStart.plusYears(1);
+            }
+        }
     }
 
     // Constructors
     public Budget() {}
 
-    public Budget(String category, BigDecimal budgetedAmount, BudgetPeriod period, User user) {
+    public Budget(Category category, BigDecimal budgetedAmount, BudgetPeriod period, User user) {
         this.category = category;
         this.budgetedAmount = budgetedAmount;
         this.period = period;
@@ -59,8 +87,8 @@ public class Budget {
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
 
-    public String getCategory() { return category; }
-    public void setCategory(String category) { this.category = category; }
+    public Category getCategory() { return category; }
+    public void setCategory(Category category) { this.category = category; }
 
     public BigDecimal getBudgetedAmount() { return budgetedAmount; }
     public void setBudgetedAmount(BigDecimal budgetedAmount) { this.budgetedAmount = budgetedAmount; }
@@ -68,6 +96,9 @@ public class Budget {
     public BigDecimal getSpentAmount() { return spentAmount; }
     public void setSpentAmount(BigDecimal spentAmount) { this.spentAmount = spentAmount; }
 
+    public LocalDate getPeriodStart() { return periodStart; }
+    public void setPeriodStart(LocalDate periodStart) { this.periodStart = periodStart; }
+
     public BudgetPeriod getPeriod() { return period; }
     public void setPeriod(BudgetPeriod period) { this.period = period; }
 
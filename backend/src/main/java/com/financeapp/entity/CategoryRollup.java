@@ -0,0 +1,65 @@
+package com.financeapp.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+
+import com.financeapp.money.Money;
+import java.time.LocalDate;
+
+/**
+ * Running sum and count of transaction amounts per (user, month, category, type).
+ * Maintained incrementally by CategoryRollupService in the same DB transaction as
+ * the transaction writes, so reports never have to scan the transactions table.
+ */
+@Entity
+@Table(name = "category_rollups", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_category_rollups_key",
+                columnNames = {"user_id", "month_start", "category_id", "transaction_type"})
+})
+public class CategoryRollup {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    @JsonIgnore
+    private User user;
+
+    // First day of the month this row aggregates
+    @Column(name = "month_start", nullable = false)
+    private LocalDate monthStart;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "category_id", nullable = false)
+    @JsonIgnore
+    private Category category;
+
+    @Column(name = "transaction_type", nullable = false)
+    @Enumerated(EnumType.STRING)
+    private Transaction.TransactionType type;
+
+    @Column(name = "total_amount", precision = 14, scale = 2, nullable = false)
+    private Money totalAmount = Money.ZERO;
+
+    @Column(name = "txn_count", nullable = false)
+    private long txnCount;
+
+    public CategoryRollup() {}
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public User getUser() { return user; }
+    public void setUser(User user) { this.user = user; }
+    public LocalDate getMonthStart() { return monthStart; }
+    public void setMonthStart(LocalDate monthStart) { this.monthStart = monthStart; }
+    public Category getCategory() { return category; }
+    public void setCategory(Category category) { this.category = category; }
+    public Transaction.TransactionType getType() { return type; }
+    public void setType(Transaction.TransactionType type) { this.type = type; }
+    public Money getTotalAmount() { return totalAmount; }
+    public void setTotalAmount(Money totalAmount) { this.totalAmount = totalAmount; }
+    public long getTxnCount() { return txnCount; }
+    public void setTxnCount(long txnCount) { this.txnCount = txnCount; }
+}
@@ -0,0 +1,133 @@
+package com.financeapp.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Template that the scheduler turns into a transaction on every occurrence of its rule
+ * ("every {@code interval} {@code frequency} from {@code startDate}"). Occurrence n is always
+ * computed from the start date, so month-end dates do not drift.
+ */
+@Entity
+@Table(name = "recurring_transactions")
+public class RecurringTransaction {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    @JsonIgnore
+    private User user;
+
+    @Column(nullable = false, length = 200)
+    private String description;
+
+    @Column(precision = 10, scale = 2, nullable = false)
+    private BigDecimal amount;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "category_id", nullable = false)
+    @JsonIgnore
+    private Category category;
+
+    @Column(name = "transaction_type", nullable = false)
+    @Enumerated(EnumType.STRING)
+    private Transaction.TransactionType type;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private Frequency frequency;
+
+    @Column(name = "interval_count", nullable = false)
+    private int interval = 1;
+
+    @Column(name = "start_date", nullable = false)
+    private LocalDate startDate;
+
+    // Inclusive; null means no end
+    @Column(name = "end_date")
+    private LocalDate endDate;
+
+    // Watermark: number of occurrences already materialized, and the date of the next one
+    @Column(name = "next_index", nullable = false)
+    private long nextIndex;
+
+    @Column(name = "next_due")
+    private LocalDate nextDue;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public enum Frequency {
+        DAILY, WEEKLY, MONTHLY, YEARLY;
+
+        // Date of occurrence number index (0 = start)
+        public LocalDate occurrence(LocalDate start, int interval, long index) {
+            long steps = Math.multiplyExact(index, interval);
+            switch (this) {
+                case DAILY: return start.plusDays(steps);
+                case WEEKLY: return start.plusWeeks(steps);
+                case MONTHLY: return start.plusMonths(steps);
+                default: return start.plusYears(steps);
+            }
+        }
+    }
+
+    public RecurringTransaction() {}
+
+    public RecurringTransaction(String description, BigDecimal amount, Category category,
+                                Transaction.TransactionType type, Frequency frequency, int interval,
+                                LocalDate startDate, LocalDate endDate, User user) {
+        this.description = description;
+        this.amount = amount;
+        this.category = category;
+        this.type = type;
+        this.frequency = frequency;
+        this.interval = interval;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.user = user;
+        this.nextIndex = 0;
+        this.nextDue = endDate != null && endDate.isBefore(startDate) ? null : startDate;
+        this.createdAt = LocalDateTime.now();
+        this.updatedAt = this.createdAt;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public User getUser() { return user; }
+    public void setUser(User user) { this.user = user; }
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+    public Category getCategory() { return category; }
+    public void setCategory(Category category) { this.category = category; }
+    public Transaction.TransactionType getType() { return type; }
+    public void setType(Transaction.TransactionType type) { this.type = type; }
+    public Frequency getFrequency() { return frequency; }
+    public void setFrequency(Frequency frequency) { this.frequency = frequency; }
+    public int getInterval() { return interval; }
+    public void setInterval(int interval) { this.interval = interval; }
+    public LocalDate getStartDate() { return startDate; }
+    public void setStartDate(LocalDate startDate) { this.startDate = startDate; }
+    public LocalDate getEndDate() { return endDate; }
+    public void setEndDate(LocalDate endDate) { this.endDate = endDate; }
+    public long getNextIndex() { return nextIndex; }
+    public void setNextIndex(long nextIndex) { this.nextIndex = nextIndex; }
+    public LocalDate getNextDue() { return nextDue; }
+    public void setNextDue(LocalDate nextDue) { this.nextDue = nextDue; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
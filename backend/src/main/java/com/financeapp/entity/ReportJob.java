@@ -0,0 +1,145 @@
+package com.financeapp.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A report generated in the background. The result is written to the report file store
+ * and downloaded once the job has SUCCEEDED.
+ */
+@Entity
+@Table(name = "report_jobs")
+public class ReportJob {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    @JsonIgnore
+    private User user;
+
+    // Same key = same report; at most one in-flight job per key
+    @Column(name = "request_key", nullable = false)
+    private String requestKey;
+
+    @Column(name = "report_type", nullable = false)
+    @Enumerated(EnumType.STRING)
+    private ReportType type;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private ReportFormat format;
+
+    @Column(name = "from_date", nullable = false)
+    private LocalDate fromDate;
+
+    @Column(name = "to_date", nullable = false)
+    private LocalDate toDate;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private Status status;
+
+    @Column(name = "result_path", length = 1024)
+    private String resultPath;
+
+    @Column(name = "result_bytes")
+    private Long resultBytes;
+
+    @Column(length = 1000)
+    private String error;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    // Node whose worker runs the job and whose report directory holds the result
+    @Column(length = 255)
+    private String node;
+
+    public enum ReportType {
+        // Every transaction in the range with opening, running and closing balance
+        MONTHLY_STATEMENT,
+        // Category x month totals for the range
+        CATEGORY_BREAKDOWN
+    }
+
+    public enum ReportFormat {
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        ReportFormat(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() { return contentType; }
+        public String getExtension() { return extension; }
+    }
+
+    public enum Status {
+        QUEUED, RUNNING, SUCCEEDED, FAILED;
+
+        public boolean isFinished() { return this == SUCCEEDED || this == FAILED; }
+    }
+
+    public ReportJob() {}
+
+    public ReportJob(User user, ReportType type, ReportFormat format, LocalDate fromDate, LocalDate toDate) {
+        this.user = user;
+        this.type = type;
+        this.format = format;
+        this.fromDate = fromDate;
+        this.toDate = toDate;
+        this.requestKey = requestKey(user.getId(), type, format, fromDate, toDate);
+        this.status = Status.QUEUED;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public static String requestKey(Long userId, ReportType type, ReportFormat format, LocalDate from, LocalDate to) {
+        return userId + ":" + type + ":" + format + ":" + from + ":" + to;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public User getUser() { return user; }
+    public void setUser(User user) { this.user = user; }
+    public String getRequestKey() { return requestKey; }
+    public void setRequestKey(String requestKey) { this.requestKey = requestKey; }
+    public ReportType getType() { return type; }
+    public void setType(ReportType type) { this.type = type; }
+    public ReportFormat getFormat() { return format; }
+    public void setFormat(ReportFormat format) { this.format = format; }
+    public LocalDate getFromDate() { return fromDate; }
+    public void setFromDate(LocalDate fromDate) { this.fromDate = fromDate; }
+    public LocalDate getToDate() { return toDate; }
+    public void setToDate(LocalDate toDate) { this.toDate = toDate; }
+    public Status getStatus() { return status; }
+    public void setStatus(Status status) { this.status = status; }
+    public String getResultPath() { return resultPath; }
+    public void setResultPath(String resultPath) { this.resultPath = resultPath; }
+    public Long getResultBytes() { return resultBytes; }
+    public void setResultBytes(Long resultBytes) { this.resultBytes = resultBytes; }
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public void setStartedAt(LocalDateTime startedAt) { this.startedAt = startedAt; }
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+    public void setFinishedAt(LocalDateTime finishedAt) { this.finishedAt = finishedAt; }
+    public String getNode() { return node; }
+    public void setNode(String node) { this.node = node; }
+}
@@ -13,7 +13,10 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "transactions")
+@Table(name = "transactions", indexes = {
+        @Index(name = "idx_transactions_user_date_id", columnList = "user_id, transaction_date DESC, id DESC"),
+        @Index(name = "idx_transactions_user_category", columnList = "user_id, category_id, transaction_date DESC")
+})
 public class Transaction {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -28,14 +31,18 @@ public class Transaction {
     @Column(precision = 10, scale = 2)
     private BigDecimal amount;
 
-    @NotBlank
-    private String category;
+    @NotNull
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "category_id")
+    @JsonIgnore
+    private Category category;
 
     @Column(name = "transaction_type")
     @Enumerated(EnumType.STRING)
     private TransactionType type;
 
-    @Column(name = "transaction_date")
+    // Partition key of the transactions table, so it must always be set
+    @Column(name = "transaction_date", nullable = false)
     private LocalDate transactionDate;
 
     @Column(name = "created_at")
@@ -57,7 +64,7 @@ public class Transaction {
 
     public Transaction() {}
 
-    public Transaction(String description, BigDecimal amount, String category,
+    public Transaction(String description, BigDecimal amount, Category category,
                        TransactionType type, LocalDate transactionDate, User user) {
         this.description = description;
         this.amount = amount;
@@ -75,8 +82,8 @@ public class Transaction {
     public void setDescription(String description) { this.description = description; }
     public BigDecimal getAmount() { return amount; }
     public void setAmount(BigDecimal amount) { this.amount = amount; }
-    public String getCategory() { return category; }
-    public void setCategory(String category) { this.category = category; }
+    public Category getCategory() { return category; }
+    public void setCategory(Category category) { this.category = category; }
     public TransactionType getType() { return type; }
     public void setType(TransactionType type) { this.type = type; }
     public LocalDate getTransactionDate() { return transactionDate; }
@@ -0,0 +1,15 @@
+package com.financeapp.event;
+
+/**
+ * Published whenever a user's transactions are created, updated, deleted or imported.
+ * Listeners that keep derived in-memory state should react after commit.
+ */
+public class TransactionsChangedEvent {
+    private final Long userId;
+
+    public TransactionsChangedEvent(Long userId) {
+        this.userId = userId;
+    }
+
+    public Long getUserId() { return userId; }
+}
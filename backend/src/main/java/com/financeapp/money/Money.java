@@ -0,0 +1,132 @@
+package com.financeapp.money;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Immutable amount held as a long count of minor units (cents). Arithmetic is exact and
+ * throws {@link ArithmeticException} on overflow instead of wrapping. Each operation returns
+ * a new instance (zero excepted); loops summing many rows use {@link MoneySum} instead.
+ *
+ * Columns are numeric(.., 2), so two decimal places is the only scale supported.
+ */
+@JsonSerialize(using = MoneyJsonSerializer.class)
+@JsonDeserialize(using = MoneyJsonDeserializer.class)
+public final class Money implements Comparable<Money> {
+    public static final int SCALE = 2;
+    public static final Money ZERO = new Money(0);
+
+    private static final long MINOR_PER_MAJOR = 100;
+
+    private final long minorUnits;
+
+    private Money(long minorUnits) {
+        this.minorUnits = minorUnits;
+    }
+
+    public static Money ofMinor(long minorUnits) {
+        return minorUnits == 0 ? ZERO : new Money(minorUnits);
+    }
+
+    /**
+     * Converts exactly; amounts with more than two decimal places or beyond the long range are rejected.
+     */
+    public static Money of(BigDecimal amount) {
+        return ofMinor(amount.setScale(SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact());
+    }
+
+    public static Money ofNullable(BigDecimal amount) {
+        return amount == null ? ZERO : of(amount);
+    }
+
+    /**
+     * Parses a plain decimal such as "-12.5" or "1234.56" without going through BigDecimal.
+     */
+    public static Money parse(CharSequence text) {
+        int len = text.length();
+        int i = 0;
+        boolean negative = false;
+        if (len > 0 && (text.charAt(0) == '-' || text.charAt(0) == '+')) {
+            negative = text.charAt(0) == '-';
+            i++;
+        }
+        long units = 0;
+        int fractionDigits = -1;
+        boolean digits = false;
+        for (; i < len; i++) {
+            char c = text.charAt(i);
+            if (c == '.' && fractionDigits < 0) {
+                fractionDigits = 0;
+                continue;
+            }
+            if (c < '0' || c > '9') throw new NumberFormatException("Not a decimal amount: " + text);
+            if (fractionDigits >= 0 && ++fractionDigits > SCALE) {
+                if (c != '0') throw new ArithmeticException("More than " + SCALE + " decimal places: " + text);
+                continue;
+            }
+            units = Math.addExact(Math.multiplyExact(units, 10), c - '0');
+            digits = true;
+        }
+        if (!digits) throw new NumberFormatException("Not a decimal amount: " + text);
+        for (int f = Math.max(fractionDigits, 0); f < SCALE; f++) {
+            units = Math.multiplyExact(units, 10);
+        }
+        return ofMinor(negative ? -units : units);
+    }
+
+    public long minorUnits() { return minorUnits; }
+
+    public Money plus(Money other) {
+        return ofMinor(Math.addExact(minorUnits, other.minorUnits));
+    }
+
+    public Money minus(Money other) {
+        return ofMinor(Math.subtractExact(minorUnits, other.minorUnits));
+    }
+
+    public Money times(long factor) {
+        return ofMinor(Math.multiplyExact(minorUnits, factor));
+    }
+
+    public Money negate() {
+        return ofMinor(Math.negateExact(minorUnits));
+    }
+
+    public int signum() { return Long.signum(minorUnits); }
+    public boolean isZero() { return minorUnits == 0; }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Money && ((Money) o).minorUnits == minorUnits;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(minorUnits);
+    }
+
+    // Plain decimal with exactly two places, e.g. "-0.05"
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(24);
+        if (minorUnits < 0) sb.append('-');
+        // Long.MIN_VALUE has no positive counterpart, so split before taking magnitudes
+        long major = Math.abs(minorUnits / MINOR_PER_MAJOR);
+        long minor = Math.abs(minorUnits % MINOR_PER_MAJOR);
+        sb.append(major).append('.');
+        if (minor < 10) sb.append('0');
+        return sb.append(minor).toString();
+    }
+}
@@ -0,0 +1,36 @@
+package com.financeapp.money;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+/**
+ * Reads Money from a JSON number or numeric string; more than two decimal places is an error.
+ */
+public class MoneyJsonDeserializer extends StdDeserializer<Money> {
+
+    public MoneyJsonDeserializer() {
+        super(Money.class);
+    }
+
+    @Override
+    public Money deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        JsonToken token = p.currentToken();
+        if (token != JsonToken.VALUE_NUMBER_INT && token != JsonToken.VALUE_NUMBER_FLOAT
+                && token != JsonToken.VALUE_STRING) {
+            return (Money) ctxt.handleUnexpectedToken(Money.class, p);
+        }
+        String text = p.getText().trim();
+        try {
+            // Exponent notation is rare enough to take the BigDecimal path
+            boolean exponent = text.indexOf('e') >= 0 || text.indexOf('E') >= 0;
+            return exponent ? Money.of(new BigDecimal(text)) : Money.parse(text);
+        } catch (NumberFormatException | ArithmeticException e) {
+            return (Money) ctxt.handleWeirdStringValue(Money.class, text, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.financeapp.money;
+
+/**
+ * Mutable running total in minor units for aggregation loops, so adding a row allocates
+ * nothing; {@link Money#plus} returns a new instance per call. Overflow throws like Money's
+ * arithmetic. Not thread-safe.
+ */
+public final class MoneySum {
+    private long minorUnits;
+
+    public MoneySum add(Money amount) {
+        minorUnits = Math.addExact(minorUnits, amount.minorUnits());
+        return this;
+    }
+
+    public MoneySum subtract(Money amount) {
+        minorUnits = Math.subtractExact(minorUnits, amount.minorUnits());
+        return this;
+    }
+
+    public long minorUnits() { return minorUnits; }
+
+    public Money toMoney() {
+        return Money.ofMinor(minorUnits);
+    }
+
+    @Override
+    public String toString() {
+        return toMoney().toString();
+    }
+}
@@ -0,0 +1,73 @@
+package com.financeapp.quote;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Serves quotes from a local CSV file of symbol,price lines, for development and tests.
+ * The file is re-read whenever its modification time changes; a missing file knows no symbols.
+ */
+@Component
+@ConditionalOnProperty(name = "financeapp.quotes.provider", havingValue = "file", matchIfMissing = true)
+public class FileQuoteProvider implements QuoteProvider {
+
+    @Value("${financeapp.quotes.file:quotes.csv}")
+    private Path file;
+
+    private FileTime loadedAt;
+    private Map<String, BigDecimal> prices = Map.of();
+
+    @Override
+    public synchronized Map<String, Quote> fetchQuotes(Set<String> symbols) throws IOException {
+        reloadIfChanged();
+        Instant now = Instant.now();
+        Map<String, Quote> quotes = new HashMap<>();
+        for (String symbol : symbols) {
+            BigDecimal price = prices.get(symbol);
+            if (price != null) quotes.put(symbol, new Quote(symbol, price, now));
+        }
+        return quotes;
+    }
+
+    private void reloadIfChanged() throws IOException {
+        if (!Files.exists(file)) {
+            prices = Map.of();
+            loadedAt = null;
+            return;
+        }
+        FileTime modified = Files.getLastModifiedTime(file);
+        if (modified.equals(loadedAt)) return;
+
+        Map<String, BigDecimal> loaded = new HashMap<>();
+        try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) continue;
+                String[] parts = line.split(",");
+                if (parts.length < 2) continue;
+                try {
+                    loaded.put(parts[0].trim().toUpperCase(Locale.ROOT), new BigDecimal(parts[1].trim()));
+                } catch (NumberFormatException e) {
+                    // header or malformed line
+                }
+            }
+        }
+        prices = loaded;
+        loadedAt = modified;
+    }
+}
@@ -0,0 +1,397 @@
+package com.financeapp.quote;
+
+import com.financeapp.money.Money;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Local append-only price history per symbol, backing portfolio charts.
+ *
+ * Each symbol has one active segment: a memory-mapped file of fixed-width 16 byte records
+ * (epoch second, price in cents) in time order. When it is full it is rewritten as a closed
+ * segment of delta-encoded varints, typically 2-4 bytes per record, and the active file is
+ * reused from the start. Only the active segment stays mapped; closed segments are indexed
+ * in memory by their headers, so a range read binary-searches the active records and reads
+ * and decodes only the closed segments overlapping the range.
+ *
+ * A record's epoch second is written after its price, and each must be newer than the one
+ * before it and than the last closed segment. After a restart the active segment is
+ * therefore recovered by scanning up to the first record breaking that order: a record
+ * torn by a crash, or one left over from before the segment was last closed. Records never
+ * span a page, and closed segments are written under a temporary name and moved into place.
+ */
+@Component
+public class PriceHistoryStore {
+    private static final Logger logger = LoggerFactory.getLogger(PriceHistoryStore.class);
+
+    private static final int RECORD_BYTES = 16;
+    private static final int CLOSED_MAGIC = 0x50484331;
+    // magic, record count, first and last epoch second
+    private static final int CLOSED_HEADER_BYTES = 24;
+    private static final String ACTIVE_SUFFIX = ".active";
+    private static final String CLOSED_SUFFIX = ".seg";
+    private static final String PARTIAL_SUFFIX = ".part";
+
+    @Value("${financeapp.prices.history.dir:${java.io.tmpdir}/financeapp-prices}")
+    private String directory;
+
+    @Value("${financeapp.prices.history.segmentRecords:4096}")
+    private int segmentRecords;
+
+    /**
+     * Points of one symbol in time order, prices in cents.
+     */
+    public record History(String symbol, long[] epochSeconds, long[] priceCents) {}
+
+    private record Segment(long firstEpoch, long lastEpoch, int count, Path file) {}
+
+    private interface PointConsumer {
+        void accept(long epochSecond, long priceCents);
+    }
+
+    // One symbol's segments; guarded by itself
+    private static final class Series {
+        final String fileName;
+        final List<Segment> closed = new ArrayList<>();
+        MappedByteBuffer active;
+        int count;
+        long lastEpoch;
+        boolean dirty;
+
+        Series(String fileName) {
+            this.fileName = fileName;
+        }
+
+        int capacity() {
+            return active.capacity() / RECORD_BYTES;
+        }
+
+        long epochAt(int index) {
+            return active.getLong(index * RECORD_BYTES);
+        }
+
+        long priceAt(int index) {
+            return active.getLong(index * RECORD_BYTES + 8);
+        }
+    }
+
+    private Path root;
+    private final ConcurrentHashMap<String, Series> series = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() throws IOException {
+        root = Paths.get(directory).toAbsolutePath().normalize();
+        Files.createDirectories(root);
+
+        Map<String, List<Path>> closedFiles = new HashMap<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(root)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(PARTIAL_SUFFIX)) {
+                    // A segment close that never finished; its records are still in the active file
+                    Files.delete(file);
+                } else if (name.endsWith(CLOSED_SUFFIX)) {
+                    closedFiles.computeIfAbsent(name.substring(0, name.indexOf('-')), k -> new ArrayList<>()).add(file);
+                } else if (name.endsWith(ACTIVE_SUFFIX)) {
+                    closedFiles.computeIfAbsent(name.substring(0, name.length() - ACTIVE_SUFFIX.length()),
+                            k -> new ArrayList<>());
+                }
+            }
+        }
+        long records = 0;
+        for (Map.Entry<String, List<Path>> entry : closedFiles.entrySet()) {
+            Series loaded = load(entry.getKey(), entry.getValue());
+            series.put(new String(HexFormat.of().parseHex(entry.getKey()), StandardCharsets.UTF_8), loaded);
+            records += loaded.count;
+            for (Segment segment : loaded.closed) records += segment.count();
+        }
+        logger.info("Loaded price history of {} symbols ({} points)", series.size(), records);
+    }
+
+    /**
+     * Appends a point unless the symbol already has one at or after this time.
+     *
+     * @return whether the point was stored
+     */
+    public boolean append(String symbol, Instant time, BigDecimal price) {
+        if (price.signum() <= 0) return false;
+        return append(symbol, time.getEpochSecond(),
+                Money.of(price.setScale(Money.SCALE, RoundingMode.HALF_UP)).minorUnits());
+    }
+
+    public boolean append(String symbol, long epochSecond, long priceCents) {
+        if (epochSecond <= 0) return false;
+        Series s = series.computeIfAbsent(QuoteService.normalize(symbol), this::create);
+        synchronized (s) {
+            if (epochSecond <= s.lastEpoch) return false;
+            if (s.count == s.capacity()) close(s);
+            int offset = s.count * RECORD_BYTES;
+            s.active.putLong(offset + 8, priceCents);
+            s.active.putLong(offset, epochSecond);
+            s.count++;
+            s.lastEpoch = epochSecond;
+            s.dirty = true;
+            return true;
+        }
+    }
+
+    /**
+     * Writes appended points through to disk. Without it they survive a process crash but
+     * not necessarily an OS crash.
+     */
+    public void sync() {
+        for (Series s : series.values()) {
+            synchronized (s) {
+                if (!s.dirty) continue;
+                s.active.force();
+                s.dirty = false;
+            }
+        }
+    }
+
+    /**
+     * Points between from and to (inclusive, epoch seconds). Longer ranges are thinned to
+     * every n-th point so that at most maxPoints are returned.
+     */
+    public History range(String symbol, long from, long to, int maxPoints) {
+        String normalized = QuoteService.normalize(symbol);
+        Series s = series.get(normalized);
+        if (s == null || from > to || maxPoints <= 0) return new History(normalized, new long[0], new long[0]);
+
+        synchronized (s) {
+            int[] total = new int[1];
+            scan(s, from, to, (epoch, price) -> total[0]++);
+            int stride = (total[0] + maxPoints - 1) / maxPoints;
+            int size = stride == 0 ? 0 : (total[0] + stride - 1) / stride;
+            long[] epochs = new long[size];
+            long[] prices = new long[size];
+            int[] index = new int[1];
+            scan(s, from, to, (epoch, price) -> {
+                int i = index[0]++;
+                if (i % stride != 0) return;
+                epochs[i / stride] = epoch;
+                prices[i / stride] = price;
+            });
+            return new History(normalized, epochs, prices);
+        }
+    }
+
+    /**
+     * Price in cents in effect at each of the given ascending times, i.e. that of the latest
+     * point at or before it; 0 before the symbol's first point.
+     */
+    public long[] pricesAt(String symbol, long[] epochs) {
+        long[] prices = new long[epochs.length];
+        Series s = series.get(QuoteService.normalize(symbol));
+        if (s == null || epochs.length == 0) return prices;
+
+        synchronized (s) {
+            long[] current = {priceAtOrBefore(s, epochs[0])};
+            int[] next = {0};
+            scan(s, epochs[0] + 1, epochs[epochs.length - 1], (epoch, price) -> {
+                while (epochs[next[0]] < epoch) prices[next[0]++] = current[0];
+                current[0] = price;
+            });
+            while (next[0] < epochs.length) prices[next[0]++] = current[0];
+        }
+        return prices;
+    }
+
+    private long priceAtOrBefore(Series s, long epoch) {
+        int lo = 0, hi = s.count;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (s.epochAt(mid) <= epoch) lo = mid + 1;
+            else hi = mid;
+        }
+        if (lo > 0) return s.priceAt(lo - 1);
+
+        // Otherwise it is in the last closed segment starting by then, the only one decoded
+        lo = 0;
+        hi = s.closed.size();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (s.closed.get(mid).firstEpoch() <= epoch) lo = mid + 1;
+            else hi = mid;
+        }
+        if (lo == 0) return 0;
+        long[] last = {0};
+        scan(s, s.closed.get(lo - 1).firstEpoch(), epoch, (e, price) -> last[0] = price);
+        return last[0];
+    }
+
+    private void scan(Series s, long from, long to, PointConsumer consumer) {
+        // First closed segment that can reach from
+        int lo = 0, hi = s.closed.size();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (s.closed.get(mid).lastEpoch() < from) lo = mid + 1;
+            else hi = mid;
+        }
+        for (int i = lo; i < s.closed.size(); i++) {
+            Segment segment = s.closed.get(i);
+            if (segment.firstEpoch() > to) return;
+            ByteBuffer data = readClosed(segment);
+            int position = CLOSED_HEADER_BYTES;
+            long epoch = segment.firstEpoch();
+            long price = 0;
+            for (int n = 0; n < segment.count(); n++) {
+                long value = 0;
+                int shift = 0;
+                byte b;
+                do {
+                    b = data.get(position++);
+                    value |= (long) (b & 0x7f) << shift;
+                    shift += 7;
+                } while (b < 0);
+                epoch += value;
+                value = 0;
+                shift = 0;
+                do {
+                    b = data.get(position++);
+                    value |= (long) (b & 0x7f) << shift;
+                    shift += 7;
+                } while (b < 0);
+                price += (value >>> 1) ^ -(value & 1);
+                if (epoch > to) return;
+                if (epoch >= from) consumer.accept(epoch, price);
+            }
+        }
+
+        lo = 0;
+        hi = s.count;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (s.epochAt(mid) < from) lo = mid + 1;
+            else hi = mid;
+        }
+        for (int i = lo; i < s.count; i++) {
+            long epoch = s.epochAt(i);
+            if (epoch > to) return;
+            consumer.accept(epoch, s.priceAt(i));
+        }
+    }
+
+    private Series create(String symbol) {
+        try {
+            return load(HexFormat.of().formatHex(symbol.getBytes(StandardCharsets.UTF_8)), List.of());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Series load(String fileName, List<Path> closedFiles) throws IOException {
+        Series s = new Series(fileName);
+        for (Path file : closedFiles) s.closed.add(openClosed(file));
+        s.closed.sort(Comparator.comparingLong(Segment::firstEpoch));
+
+        try (FileChannel channel = FileChannel.open(root.resolve(fileName + ACTIVE_SUFFIX),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = channel.size() - channel.size() % RECORD_BYTES;
+            s.active = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                    size > 0 ? size : (long) segmentRecords * RECORD_BYTES);
+        }
+
+        long last = s.closed.isEmpty() ? 0 : s.closed.get(s.closed.size() - 1).lastEpoch();
+        int count = 0;
+        while (count < s.capacity() && s.epochAt(count) > last) {
+            last = s.epochAt(count++);
+        }
+        s.count = count;
+        s.lastEpoch = last;
+        return s;
+    }
+
+    // Reads only the header; mapping every closed segment would exhaust the process's map count
+    private Segment openClosed(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = read(channel, CLOSED_HEADER_BYTES);
+            if (header.capacity() < CLOSED_HEADER_BYTES || header.getInt(0) != CLOSED_MAGIC) {
+                throw new IOException("Not a price history segment: " + file);
+            }
+            return new Segment(header.getLong(8), header.getLong(16), header.getInt(4), file);
+        }
+    }
+
+    private static ByteBuffer readClosed(Segment segment) {
+        try (FileChannel channel = FileChannel.open(segment.file(), StandardOpenOption.READ)) {
+            return read(channel, channel.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Up to length bytes from the start of the file, by positional reads
+    private static ByteBuffer read(FileChannel channel, long length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(length, channel.size()));
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, buffer.position()) < 0) break;
+        }
+        return buffer.flip();
+    }
+
+    // Moves the full active segment into a new closed one
+    private void close(Series s) {
+        ByteBuffer encoded = ByteBuffer.allocate(CLOSED_HEADER_BYTES + s.count * 2 * 10);
+        encoded.putInt(CLOSED_MAGIC).putInt(s.count).putLong(s.epochAt(0)).putLong(s.epochAt(s.count - 1));
+        long epoch = s.epochAt(0);
+        long price = 0;
+        for (int i = 0; i < s.count; i++) {
+            putVarint(encoded, s.epochAt(i) - epoch);
+            putVarint(encoded, (s.priceAt(i) - price) << 1 ^ (s.priceAt(i) - price) >> 63);
+            epoch = s.epochAt(i);
+            price = s.priceAt(i);
+        }
+        encoded.flip();
+
+        Path target = root.resolve(s.fileName + "-" + s.epochAt(0) + CLOSED_SUFFIX);
+        Path partial = target.resolveSibling(target.getFileName() + PARTIAL_SUFFIX);
+        try {
+            try (FileChannel channel = FileChannel.open(partial, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                while (encoded.hasRemaining()) channel.write(encoded);
+                channel.force(true);
+            }
+            Files.move(partial, target, StandardCopyOption.ATOMIC_MOVE);
+            s.closed.add(openClosed(target));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        // The old records are now older than the last closed segment, so recovery skips them
+        s.count = 0;
+    }
+
+    private static void putVarint(ByteBuffer buffer, long value) {
+        while ((value & ~0x7fL) != 0) {
+            buffer.put((byte) ((value & 0x7f) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+}
@@ -0,0 +1,155 @@
+package com.financeapp.quote;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies symbol-wide price ticks to every holding of the symbol.
+ *
+ * Submitted ticks are collapsed per symbol to the latest one and flushed every flushMs as
+ * one batch. A single statement records the new prices in symbol_prices, dropping ticks
+ * older than the stored one, and sets current_price on all holdings of the symbols whose
+ * price changed. No investment is loaded as an entity, so a batch costs one round trip
+ * however many ticks and holdings it covers. Applied ticks are then added to the price
+ * history, one point per symbol and flush at most.
+ */
+@Service
+public class PriceIngestService {
+    private static final Logger logger = LoggerFactory.getLogger(PriceIngestService.class);
+
+    public static final String NOTIFY_CHANNEL = "symbol_prices";
+
+    // Two-int advisory lock keys never collide with the change log's per-user bigint keys
+    private static final int LOCK_CLASS = 0x50524943;
+
+    private static final String APPLY_SQL =
+            "WITH ticks AS (SELECT * FROM unnest(?::varchar[], ?::numeric[], ?::timestamp[]) AS t(symbol, price, as_of)), " +
+            "changed AS (" +
+            "INSERT INTO symbol_prices AS sp (symbol, price, as_of) SELECT symbol, price, as_of FROM ticks " +
+            "ON CONFLICT (symbol) DO UPDATE SET price = EXCLUDED.price, as_of = EXCLUDED.as_of, " +
+            "seq = nextval('symbol_prices_seq') " +
+            "WHERE sp.as_of < EXCLUDED.as_of " +
+            "RETURNING sp.symbol, sp.price) " +
+            "UPDATE investments i SET current_price = c.price, updated_at = now() FROM changed c " +
+            "WHERE upper(i.symbol) = c.symbol AND i.current_price <> c.price";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private PriceHistoryStore priceHistoryStore;
+
+    @Value("${financeapp.prices.flushMs:500}")
+    private long flushMs;
+
+    // Latest pending tick per symbol
+    private final ConcurrentHashMap<String, PriceTick> pending = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService flusher;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "price-ingest");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flushQuietly, flushMs, flushMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (flusher != null) flusher.shutdown();
+        flushQuietly();
+    }
+
+    public void submit(Collection<PriceTick> ticks) {
+        for (PriceTick tick : ticks) {
+            PriceTick normalized = new PriceTick(QuoteService.normalize(tick.getSymbol()),
+                    tick.getPrice().setScale(2, RoundingMode.HALF_UP), tick.getTimestamp());
+            pending.merge(normalized.getSymbol(), normalized,
+                    (current, next) -> next.getTimestamp().isBefore(current.getTimestamp()) ? current : next);
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            logger.error("Price tick flush failed", e);
+        }
+    }
+
+    /**
+     * Applies everything submitted so far and returns the number of holdings updated.
+     */
+    public int flush() {
+        List<PriceTick> batch = new ArrayList<>(pending.size());
+        for (String symbol : pending.keySet()) {
+            PriceTick tick = pending.remove(symbol);
+            if (tick != null) batch.add(tick);
+        }
+        if (batch.isEmpty()) return 0;
+
+        String[] symbols = new String[batch.size()];
+        BigDecimal[] prices = new BigDecimal[batch.size()];
+        Timestamp[] timestamps = new Timestamp[batch.size()];
+        for (int i = 0; i < batch.size(); i++) {
+            symbols[i] = batch.get(i).getSymbol();
+            prices[i] = batch.get(i).getPrice();
+            timestamps[i] = Timestamp.from(batch.get(i).getTimestamp());
+        }
+
+        long start = System.nanoTime();
+        Integer updated;
+        try {
+            updated = transactionTemplate.execute(status -> {
+                // Serializes flushes across nodes, so symbol_prices.seq follows commit order
+                jdbcTemplate.query("SELECT pg_advisory_xact_lock(?, 0)", rs -> {}, LOCK_CLASS);
+                int rows = jdbcTemplate.update(con -> {
+                    PreparedStatement ps = con.prepareStatement(APPLY_SQL);
+                    ps.setArray(1, con.createArrayOf("varchar", symbols));
+                    ps.setArray(2, con.createArrayOf("numeric", prices));
+                    ps.setArray(3, con.createArrayOf("timestamp", timestamps));
+                    return ps;
+                });
+                if (rows > 0) jdbcTemplate.query("SELECT pg_notify(?, '')", rs -> {}, NOTIFY_CHANNEL);
+                return rows;
+            });
+        } catch (RuntimeException e) {
+            // Put the batch back unless newer ticks have arrived meanwhile
+            submit(batch);
+            throw e;
+        }
+        for (PriceTick tick : batch) {
+            priceHistoryStore.append(tick.getSymbol(), tick.getTimestamp(), tick.getPrice());
+        }
+        priceHistoryStore.sync();
+        logger.debug("Applied {} price ticks to {} holdings in {} ms",
+                batch.size(), updated, (System.nanoTime() - start) / 1_000_000);
+        return updated == null ? 0 : updated;
+    }
+}
@@ -0,0 +1,40 @@
+package com.financeapp.quote;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+public class PriceTick {
+    @NotBlank
+    @Size(max = 255)
+    private String symbol;
+
+    // Bounds of investments.current_price, so one bad tick cannot fail a whole batch
+    @NotNull
+    @DecimalMin(value = "0.01")
+    @DecimalMax(value = "99999999.99")
+    private BigDecimal price;
+
+    @NotNull
+    private Instant timestamp;
+
+    public PriceTick() {}
+
+    public PriceTick(String symbol, BigDecimal price, Instant timestamp) {
+        this.symbol = symbol;
+        this.price = price;
+        this.timestamp = timestamp;
+    }
+
+    public String getSymbol() { return symbol; }
+    public void setSymbol(String symbol) { this.symbol = symbol; }
+    public BigDecimal getPrice() { return price; }
+    public void setPrice(BigDecimal price) { this.price = price; }
+    public Instant getTimestamp() { return timestamp; }
+    public void setTimestamp(Instant timestamp) { this.timestamp = timestamp; }
+}
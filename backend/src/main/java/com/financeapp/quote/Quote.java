@@ -0,0 +1,20 @@
+package com.financeapp.quote;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+public final class Quote {
+    private final String symbol;
+    private final BigDecimal price;
+    private final Instant asOf;
+
+    public Quote(String symbol, BigDecimal price, Instant asOf) {
+        this.symbol = symbol;
+        this.price = price;
+        this.asOf = asOf;
+    }
+
+    public String getSymbol() { return symbol; }
+    public BigDecimal getPrice() { return price; }
+    public Instant getAsOf() { return asOf; }
+}
@@ -0,0 +1,13 @@
+package com.financeapp.quote;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+
+public interface QuoteProvider {
+    /**
+     * Fetches the latest quotes for all symbols in one upstream call. Symbols are upper case;
+     * ones the provider does not know are left out of the result.
+     */
+    Map<String, Quote> fetchQuotes(Set<String> symbols) throws IOException;
+}
@@ -0,0 +1,160 @@
+package com.financeapp.quote;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Stock quotes through a bounded per-symbol TTL cache in front of the QuoteProvider.
+ *
+ * Concurrent misses for a symbol share one in-flight fetch, and all the misses of one lookup
+ * go to the provider as a single batch call, so a popular ticker costs one upstream request
+ * per TTL however many users view it. Expired entries are kept until evicted and served if
+ * the provider fails.
+ */
+@Service
+public class QuoteService {
+    private static final Logger logger = LoggerFactory.getLogger(QuoteService.class);
+
+    @Autowired
+    private QuoteProvider provider;
+
+    @Autowired
+    private PriceHistoryStore priceHistoryStore;
+
+    @Value("${financeapp.quotes.ttlSeconds:60}")
+    private long ttlSeconds;
+
+    @Value("${financeapp.quotes.cacheSize:5000}")
+    private int cacheSize;
+
+    @Value("${financeapp.quotes.timeoutMs:5000}")
+    private long timeoutMs;
+
+    // quote is null for symbols the provider does not know, so they are not re-requested either
+    private record Entry(Quote quote, long fetchedAt) {}
+
+    // Access-ordered for LRU eviction; guarded by itself
+    private final LinkedHashMap<String, Entry> cache = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > cacheSize;
+        }
+    };
+
+    private final ConcurrentHashMap<String, CompletableFuture<Quote>> inFlight = new ConcurrentHashMap<>();
+
+    public static String normalize(String symbol) {
+        return symbol.trim().toUpperCase(Locale.ROOT);
+    }
+
+    public Optional<Quote> getQuote(String symbol) {
+        return Optional.ofNullable(getQuotes(List.of(symbol)).get(normalize(symbol)));
+    }
+
+    /**
+     * Quotes keyed by normalized symbol; symbols without a quote are absent.
+     */
+    public Map<String, Quote> getQuotes(Collection<String> symbols) {
+        Map<String, Quote> result = new HashMap<>();
+        Set<String> misses = new LinkedHashSet<>();
+        long now = System.nanoTime();
+        long ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        synchronized (cache) {
+            for (String raw : symbols) {
+                if (raw == null || raw.isBlank()) continue;
+                String symbol = normalize(raw);
+                Entry entry = cache.get(symbol);
+                if (entry != null && now - entry.fetchedAt() < ttlNanos) {
+                    if (entry.quote() != null) result.put(symbol, entry.quote());
+                } else {
+                    misses.add(symbol);
+                }
+            }
+        }
+        if (misses.isEmpty()) return result;
+
+        // Fetch the misses nobody else is fetching; wait for the rest
+        Map<String, CompletableFuture<Quote>> owned = new LinkedHashMap<>();
+        Map<String, CompletableFuture<Quote>> pending = new HashMap<>();
+        for (String symbol : misses) {
+            CompletableFuture<Quote> mine = new CompletableFuture<>();
+            CompletableFuture<Quote> existing = inFlight.putIfAbsent(symbol, mine);
+            if (existing == null) owned.put(symbol, mine);
+            pending.put(symbol, existing != null ? existing : mine);
+        }
+        if (!owned.isEmpty()) fetch(owned);
+
+        pending.forEach((symbol, future) -> {
+            Quote quote = await(symbol, future);
+            if (quote != null) result.put(symbol, quote);
+        });
+        return result;
+    }
+
+    private void fetch(Map<String, CompletableFuture<Quote>> owned) {
+        Map<String, Quote> fetched;
+        try {
+            fetched = provider.fetchQuotes(new LinkedHashSet<>(owned.keySet()));
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Quote provider failed for {} symbols", owned.size(), e);
+            owned.forEach((symbol, future) -> {
+                inFlight.remove(symbol, future);
+                future.completeExceptionally(e);
+            });
+            return;
+        }
+
+        long now = System.nanoTime();
+        synchronized (cache) {
+            owned.keySet().forEach(symbol -> cache.put(symbol, new Entry(fetched.get(symbol), now)));
+        }
+        // Cached before leaving inFlight, so a concurrent lookup either hits the cache or joins
+        owned.forEach((symbol, future) -> {
+            inFlight.remove(symbol, future);
+            future.complete(fetched.get(symbol));
+        });
+
+        // After the waiters are released: history is best effort and must not strand them
+        for (Quote quote : fetched.values()) {
+            if (quote == null || quote.getAsOf() == null || quote.getPrice() == null) continue;
+            try {
+                priceHistoryStore.append(quote.getSymbol(), quote.getAsOf(), quote.getPrice());
+            } catch (RuntimeException e) {
+                logger.warn("Could not record price history for {}", quote.getSymbol(), e);
+            }
+        }
+    }
+
+    private Quote await(String symbol, CompletableFuture<Quote> future) {
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            // fall back to the last known price
+        }
+        synchronized (cache) {
+            Entry entry = cache.get(symbol);
+            return entry != null ? entry.quote() : null;
+        }
+    }
+}
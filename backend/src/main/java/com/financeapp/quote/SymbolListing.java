@@ -0,0 +1,14 @@
+package com.financeapp.quote;
+
+public final class SymbolListing {
+    private final String symbol;
+    private final String name;
+
+    public SymbolListing(String symbol, String name) {
+        this.symbol = symbol;
+        this.name = name;
+    }
+
+    public String getSymbol() { return symbol; }
+    public String getName() { return name; }
+}
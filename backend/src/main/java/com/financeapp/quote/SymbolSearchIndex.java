@@ -0,0 +1,232 @@
+package com.financeapp.quote;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Ticker autocomplete served from memory, so a keystroke costs no remote call.
+ *
+ * The listing file (symbol,name[,popularity] lines) is loaded into an immutable snapshot:
+ * listings ordered by popularity, so a listing's position is its rank, and one sorted array
+ * of search keys (the symbol, the name and each word of the name) pointing at them. A prefix
+ * selects a binary-searched range of keys and its best matches are the lowest ranks in that
+ * range. One- and two-character prefixes can span much of the file, so their best ranks are
+ * precomputed; longer prefixes cover few keys and are scanned. An exact symbol match always
+ * comes first.
+ *
+ * The file is checked every reloadMs and a changed one is swapped in as a whole new snapshot;
+ * a missing file knows no symbols.
+ */
+@Component
+public class SymbolSearchIndex {
+    private static final Logger logger = LoggerFactory.getLogger(SymbolSearchIndex.class);
+
+    public static final int MAX_RESULTS = 20;
+
+    private static final int PRECOMPUTED_PREFIX_LENGTH = 2;
+    private static final int[] NO_RANKS = new int[0];
+
+    @Value("${financeapp.symbols.file:symbols.csv}")
+    private Path file;
+
+    private volatile Snapshot snapshot = Snapshot.build(List.of());
+    private FileTime loadedAt;
+
+    private record Listing(String symbol, String name, long popularity) {}
+
+    private record Key(String key, int rank) {}
+
+    private static final class Snapshot {
+        final SymbolListing[] listings;
+        final String[] keys;
+        final int[] ranks;
+        final Map<String, Integer> bySymbol = new HashMap<>();
+        final Map<String, int[]> best = new HashMap<>();
+
+        private Snapshot(SymbolListing[] listings, String[] keys, int[] ranks) {
+            this.listings = listings;
+            this.keys = keys;
+            this.ranks = ranks;
+        }
+
+        static Snapshot build(List<Listing> loaded) {
+            List<Listing> sorted = new ArrayList<>(loaded);
+            sorted.sort(Comparator.comparingLong(Listing::popularity).reversed().thenComparing(Listing::symbol));
+
+            SymbolListing[] listings = new SymbolListing[sorted.size()];
+            List<Key> keys = new ArrayList<>(sorted.size() * 4);
+            Set<String> listingKeys = new LinkedHashSet<>();
+            for (int rank = 0; rank < listings.length; rank++) {
+                Listing listing = sorted.get(rank);
+                listings[rank] = new SymbolListing(listing.symbol(), listing.name());
+                listingKeys.clear();
+                listingKeys.add(listing.symbol());
+                String name = normalize(listing.name());
+                if (!name.isEmpty()) {
+                    listingKeys.add(name);
+                    for (String word : name.split("[^\\p{Alnum}]+")) {
+                        if (!word.isEmpty()) listingKeys.add(word);
+                    }
+                }
+                for (String key : listingKeys) keys.add(new Key(key, rank));
+            }
+            keys.sort(Comparator.comparing(Key::key).thenComparingInt(Key::rank));
+
+            Snapshot snapshot = new Snapshot(listings,
+                    keys.stream().map(Key::key).toArray(String[]::new),
+                    keys.stream().mapToInt(Key::rank).toArray());
+            for (int rank = 0; rank < listings.length; rank++) {
+                snapshot.bySymbol.putIfAbsent(listings[rank].getSymbol(), rank);
+            }
+            Map<String, TopRanks> best = new HashMap<>();
+            for (Key key : keys) {
+                for (int length = 1; length <= Math.min(PRECOMPUTED_PREFIX_LENGTH, key.key().length()); length++) {
+                    best.computeIfAbsent(key.key().substring(0, length), p -> new TopRanks()).add(key.rank());
+                }
+            }
+            best.forEach((prefix, top) -> snapshot.best.put(prefix, top.toArray()));
+            return snapshot;
+        }
+
+        int[] bestRanks(String prefix) {
+            if (prefix.length() <= PRECOMPUTED_PREFIX_LENGTH) return best.getOrDefault(prefix, NO_RANKS);
+            int i = Arrays.binarySearch(keys, prefix);
+            if (i < 0) i = -i - 1;
+            TopRanks top = new TopRanks();
+            for (; i < keys.length && keys[i].startsWith(prefix); i++) top.add(ranks[i]);
+            return top.toArray();
+        }
+    }
+
+    // The MAX_RESULTS lowest distinct ranks seen, ascending
+    private static final class TopRanks {
+        private final int[] ranks = new int[MAX_RESULTS];
+        private int size;
+
+        void add(int rank) {
+            if (size == MAX_RESULTS && rank >= ranks[size - 1]) return;
+            int i = Arrays.binarySearch(ranks, 0, size, rank);
+            if (i >= 0) return;
+            i = -i - 1;
+            int moved = Math.min(size, MAX_RESULTS - 1) - i;
+            if (moved > 0) System.arraycopy(ranks, i, ranks, i + 1, moved);
+            ranks[i] = rank;
+            if (size < MAX_RESULTS) size++;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(ranks, size);
+        }
+    }
+
+    static String normalize(String text) {
+        StringBuilder normalized = new StringBuilder(text.length());
+        boolean space = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                space = normalized.length() > 0;
+            } else {
+                if (space) normalized.append(' ');
+                normalized.append(Character.toUpperCase(c));
+                space = false;
+            }
+        }
+        return normalized.toString();
+    }
+
+    /**
+     * Up to limit listings whose symbol, name or a word of the name starts with the query,
+     * most popular first.
+     */
+    public List<SymbolListing> search(String query, int limit) {
+        Snapshot current = snapshot;
+        String prefix = normalize(query);
+        if (prefix.isEmpty() || limit <= 0) return List.of();
+
+        List<SymbolListing> results = new ArrayList<>(Math.min(limit, MAX_RESULTS));
+        Integer exact = current.bySymbol.get(prefix);
+        if (exact != null) results.add(current.listings[exact]);
+        for (int rank : current.bestRanks(prefix)) {
+            if (results.size() >= limit) break;
+            if (exact == null || rank != exact) results.add(current.listings[rank]);
+        }
+        return results;
+    }
+
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${financeapp.symbols.reloadMs:30000}", initialDelayString = "${financeapp.symbols.reloadMs:30000}")
+    public synchronized void reloadIfChanged() {
+        try {
+            if (!Files.exists(file)) {
+                if (loadedAt != null) snapshot = Snapshot.build(List.of());
+                loadedAt = null;
+                return;
+            }
+            FileTime modified = Files.getLastModifiedTime(file);
+            if (modified.equals(loadedAt)) return;
+
+            List<Listing> listings = load();
+            snapshot = Snapshot.build(listings);
+            loadedAt = modified;
+            logger.info("Loaded {} symbol listings from {}", listings.size(), file);
+        } catch (IOException | RuntimeException e) {
+            // Keep serving the previous snapshot
+            logger.warn("Failed to load symbol listings from {}", file, e);
+        }
+    }
+
+    private List<Listing> load() throws IOException {
+        List<Listing> listings = new ArrayList<>();
+        Set<String> seen = new LinkedHashSet<>();
+        try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) continue;
+                int first = line.indexOf(',');
+                if (first <= 0) continue;
+                String symbol = line.substring(0, first).trim().toUpperCase(Locale.ROOT);
+                String name = line.substring(first + 1);
+                long popularity = 0;
+                // Names may contain commas, so popularity is whatever follows the last one
+                int last = name.lastIndexOf(',');
+                if (last >= 0) {
+                    try {
+                        popularity = Long.parseLong(name.substring(last + 1).trim());
+                        name = name.substring(0, last);
+                    } catch (NumberFormatException e) {
+                        // no popularity column
+                    }
+                }
+                name = name.trim();
+                if (name.length() >= 2 && name.startsWith("\"") && name.endsWith("\"")) {
+                    name = name.substring(1, name.length() - 1).replace("\"\"", "\"");
+                }
+                if (symbol.equals("SYMBOL") || symbol.isEmpty() || !seen.add(symbol)) continue;
+                listings.add(new Listing(symbol, name, popularity));
+            }
+        }
+        return listings;
+    }
+}
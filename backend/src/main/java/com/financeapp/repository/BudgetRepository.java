@@ -1,14 +1,53 @@
 package com.financeapp.repository;
 
 import com.financeapp.entity.Budget;
+import com.financeapp.entity.Category;
 import com.financeapp.entity.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface BudgetRepository extends JpaRepository<Budget, Long> {
+    @EntityGraph(attributePaths = "category")
     List<Budget> findByUser(User user);
-    Optional<Budget> findByUserAndCategory(User user, String category);
+    Optional<Budget> findByUserAndCategory(User user, Category category);
+    Optional<Budget> findByIdAndUserId(Long id, Long userId);
+
+    @Modifying
+    @Query("DELETE FROM Budget b WHERE b.id = :id AND b.user.id = :userId")
+    int deleteByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    @EntityGraph(attributePaths = "category")
+    List<Budget> findByUserIdAndIdIn(Long userId, Collection<Long> ids);
+
+    /**
+     * Atomically adds delta to every budget of the category whose current window contains the
+     * transaction date. Each window start is precomputed for the matching period. Budgets in
+     * excludedIds were just recomputed from the table and already include the change.
+     */
+    @Modifying
+    @Query("UPDATE Budget b SET b.spentAmount = b.spentAmount + :delta " +
+            "WHERE b.user.id = :userId AND b.category.id = :categoryId AND b.id NOT IN :excludedIds AND (" +
+            "(b.period = :weekly AND b.periodStart = :weekStart) OR " +
+            "(b.period = :monthly AND b.periodStart = :monthStart) OR " +
+            "(b.period = :yearly AND b.periodStart = :yearStart))")
+    int incrementSpent(@Param("userId") Long userId,
+                       @Param("categoryId") Integer categoryId,
+                       @Param("delta") BigDecimal delta,
+                       @Param("weekly") Budget.BudgetPeriod weekly,
+                       @Param("weekStart") LocalDate weekStart,
+                       @Param("monthly") Budget.BudgetPeriod monthly,
+                       @Param("monthStart") LocalDate monthStart,
+                       @Param("yearly") Budget.BudgetPeriod yearly,
+                       @Param("yearStart") LocalDate yearStart,
+                       @Param("excludedIds") Collection<Long> excludedIds);
 }
\ No newline at end of file
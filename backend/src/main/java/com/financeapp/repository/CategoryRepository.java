@@ -0,0 +1,16 @@
+package com.financeapp.repository;
+
+import com.financeapp.entity.Category;
+import com.financeapp.entity.User;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface CategoryRepository extends JpaRepository<Category, Integer> {
+    List<Category> findByUserOrderByNameAsc(User user);
+    Optional<Category> findByIdAndUser(Integer id, User user);
+    Optional<Category> findByUserIdAndName(Long userId, String name);
+}
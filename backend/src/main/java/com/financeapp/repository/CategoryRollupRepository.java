@@ -0,0 +1,44 @@
+package com.financeapp.repository;
+
+import com.financeapp.entity.CategoryRollup;
+import com.financeapp.entity.User;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface CategoryRollupRepository extends JpaRepository<CategoryRollup, Long> {
+
+    @Query("SELECT r FROM CategoryRollup r JOIN FETCH r.category c WHERE r.user = :user " +
+            "AND r.monthStart BETWEEN :from AND :to ORDER BY r.monthStart, c.name")
+    List<CategoryRollup> findMonthlyByUser(@Param("user") User user, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    // Reads at most one row per (month, category) instead of every transaction
+    @Query(value = "SELECT COALESCE(SUM(total_amount), 0) FROM category_rollups " +
+            "WHERE user_id = :userId AND transaction_type = :type", nativeQuery = true)
+    BigDecimal getTotalAmountByUserAndType(@Param("userId") Long userId, @Param("type") String type);
+
+    // Atomic upsert so concurrent writers never lose each other's deltas
+    @Modifying
+    @Query(value = "INSERT INTO category_rollups (user_id, month_start, category_id, transaction_type, total_amount, txn_count) " +
+            "VALUES (:userId, :monthStart, :categoryId, :type, :amount, :count) " +
+            "ON CONFLICT (user_id, month_start, category_id, transaction_type) DO UPDATE SET " +
+            "total_amount = category_rollups.total_amount + EXCLUDED.total_amount, " +
+            "txn_count = category_rollups.txn_count + EXCLUDED.txn_count", nativeQuery = true)
+    int applyDelta(@Param("userId") Long userId,
+                   @Param("monthStart") LocalDate monthStart,
+                   @Param("categoryId") Integer categoryId,
+                   @Param("type") String type,
+                   @Param("amount") BigDecimal amount,
+                   @Param("count") long count);
+
+    @Modifying
+    @Query("DELETE FROM CategoryRollup r WHERE r.user.id = :userId AND r.txnCount <= 0")
+    int deleteEmpty(@Param("userId") Long userId);
+}
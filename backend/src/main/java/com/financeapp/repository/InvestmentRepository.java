@@ -3,11 +3,46 @@ package com.financeapp.repository;
 import com.financeapp.entity.Investment;
 import com.financeapp.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface InvestmentRepository extends JpaRepository<Investment, Long> {
     List<Investment> findByUser(User user);
     List<Investment> findByUserAndSymbol(User user, String symbol);
+    List<Investment> findByUserIdAndIdIn(Long userId, Collection<Long> ids);
+    Optional<Investment> findByIdAndUserId(Long id, Long userId);
+
+    @Modifying
+    @Query("DELETE FROM Investment i WHERE i.id = :id AND i.user.id = :userId")
+    int deleteByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    @Query("SELECT DISTINCT i.symbol FROM Investment i WHERE i.user = :user")
+    List<String> findSymbolsByUser(@Param("user") User user);
+
+    @Query("SELECT DISTINCT upper(i.symbol) FROM Investment i WHERE i.user.id = :userId")
+    List<String> findNormalizedSymbolsByUserId(@Param("userId") Long userId);
+
+    // Changes whenever a price tick reaches one of the user's symbols
+    @Query(value = "SELECT COALESCE(MAX(sp.seq), 0) FROM symbol_prices sp " +
+            "WHERE sp.symbol IN (SELECT upper(i.symbol) FROM investments i WHERE i.user_id = :userId)", nativeQuery = true)
+    long findPriceVersionByUserId(@Param("userId") Long userId);
+
+    // Valuation columns only, grouped by symbol
+    @Query("SELECT i.id, i.symbol, i.name, i.shares, i.purchasePrice, i.currentPrice FROM Investment i " +
+            "WHERE i.user.id = :userId ORDER BY i.symbol, i.id")
+    List<Object[]> findValuationRowsByUserId(@Param("userId") Long userId);
+
+    // Return calculation columns: the lot was bought at purchasePrice on createdAt
+    @Query("SELECT i.symbol, i.shares, i.purchasePrice, i.currentPrice, i.createdAt FROM Investment i " +
+            "WHERE i.user.id = :userId")
+    List<Object[]> findReturnRowsByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT DISTINCT i.user.id FROM Investment i")
+    List<Long> findUserIdsWithInvestments();
 }
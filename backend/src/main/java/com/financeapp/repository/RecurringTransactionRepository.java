@@ -0,0 +1,18 @@
+package com.financeapp.repository;
+
+import com.financeapp.entity.RecurringTransaction;
+import com.financeapp.entity.User;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface RecurringTransactionRepository extends JpaRepository<RecurringTransaction, Long> {
+    @EntityGraph(attributePaths = "category")
+    List<RecurringTransaction> findByUserOrderByIdAsc(User user);
+
+    Optional<RecurringTransaction> findByIdAndUser(Long id, User user);
+}
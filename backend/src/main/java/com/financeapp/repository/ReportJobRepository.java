@@ -0,0 +1,40 @@
+package com.financeapp.repository;
+
+import com.financeapp.entity.ReportJob;
+import com.financeapp.entity.User;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ReportJobRepository extends JpaRepository<ReportJob, Long> {
+    Optional<ReportJob> findByIdAndUser(Long id, User user);
+
+    List<ReportJob> findByUserOrderByCreatedAtDesc(User user, Pageable pageable);
+
+    Optional<ReportJob> findFirstByRequestKeyAndStatusIn(String requestKey, Collection<ReportJob.Status> statuses);
+
+    List<ReportJob> findByStatusInAndNode(Collection<ReportJob.Status> statuses, String node);
+
+    @Query("SELECT j FROM ReportJob j WHERE j.finishedAt < :cutoff AND (j.node = :node OR j.node IS NULL)")
+    List<ReportJob> findFinishedBefore(@Param("cutoff") LocalDateTime cutoff, @Param("node") String node);
+
+    // Jobs created before nodes were recorded go to whichever node starts first
+    @Modifying
+    @Query("UPDATE ReportJob j SET j.node = :node WHERE j.node IS NULL AND j.status IN :statuses")
+    int claimUnowned(@Param("node") String node, @Param("statuses") Collection<ReportJob.Status> statuses);
+
+    // Conditional transition, so only one worker can pick up a queued job
+    @Modifying
+    @Query("UPDATE ReportJob j SET j.status = com.financeapp.entity.ReportJob.Status.RUNNING, j.startedAt = :now " +
+            "WHERE j.id = :id AND j.status = com.financeapp.entity.ReportJob.Status.QUEUED")
+    int markRunning(@Param("id") Long id, @Param("now") LocalDateTime now);
+}
@@ -1,22 +1,127 @@
 package com.financeapp.repository;
 
+import com.financeapp.dto.TransactionResponse;
+import com.financeapp.entity.Category;
 import com.financeapp.entity.Transaction;
 import com.financeapp.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import jakarta.persistence.QueryHint;
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
-import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
+    String STREAM_FETCH_SIZE = "500";
+
+    // Read-only projection: selects just the response columns, no managed entities or snapshots
+    String RESPONSE_SELECT = "SELECT new com.financeapp.dto.TransactionResponse(" +
+            "t.id, t.description, t.amount, c.name, t.type, t.transactionDate) FROM Transaction t JOIN t.category c ";
+
     List<Transaction> findByUserOrderByTransactionDateDesc(User user);
     List<Transaction> findByUserAndTransactionDateBetween(User user, LocalDate startDate, LocalDate endDate);
-    List<Transaction> findByUserAndCategory(User user, String category);
+    List<Transaction> findByUserAndCategory(User user, Category category);
+    Optional<Transaction> findByIdAndUserId(Long id, Long userId);
+
+    @Query(RESPONSE_SELECT + "WHERE t.user = :user ORDER BY t.transactionDate DESC, t.id DESC")
+    List<TransactionResponse> findResponsesByUser(@Param("user") User user);
+
+    @Query(RESPONSE_SELECT + "WHERE t.user.id = :userId AND t.id IN :ids")
+    List<TransactionResponse> findResponsesByUserIdAndIdIn(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
+
+    @Query(RESPONSE_SELECT + "WHERE t.user = :user AND t.transactionDate BETWEEN :startDate AND :endDate " +
+            "ORDER BY t.transactionDate DESC, t.id DESC")
+    List<TransactionResponse> findResponsesByUserAndTransactionDateBetween(@Param("user") User user,
+                                                                           @Param("startDate") LocalDate startDate,
+                                                                           @Param("endDate") LocalDate endDate);
+
+    @Query(RESPONSE_SELECT + "WHERE t.user = :user AND c.id = :categoryId ORDER BY t.transactionDate DESC, t.id DESC")
+    List<TransactionResponse> findResponsesByUserAndCategory(@Param("user") User user, @Param("categoryId") Integer categoryId);
+
+    // Keyset pagination over (transaction_date, id), served by idx_transactions_user_date_id
+    @Query(RESPONSE_SELECT + "WHERE t.user = :user ORDER BY t.transactionDate DESC, t.id DESC")
+    List<TransactionResponse> findFirstPageByUser(@Param("user") User user, Pageable pageable);
+
+    @Query(RESPONSE_SELECT + "WHERE t.user = :user " +
+            "AND (t.transactionDate < :date OR (t.transactionDate = :date AND t.id < :id)) " +
+            "ORDER BY t.transactionDate DESC, t.id DESC")
+    List<TransactionResponse> findPageByUserAfter(@Param("user") User user,
+                                                  @Param("date") LocalDate date,
+                                                  @Param("id") Long id,
+                                                  Pageable pageable);
+
+    /**
+     * Ranked substring/fuzzy search over description and category name. Descriptions are
+     * matched through the idx_transactions_search_trgm GIN index (V4), whose expression must
+     * stay identical to the one used here; category names are matched once in the small
+     * categories table and joined back by id. pattern is a LIKE pattern over the lower-cased
+     * query; term is the query itself. Rows are the response columns (id, description,
+     * amount, category name, type, date), so no entity or category is loaded.
+     */
+    @Query(value = "SELECT t.id, t.description, t.amount, c.name, t.transaction_type, t.transaction_date " +
+            "FROM transactions t JOIN categories c ON c.id = t.category_id " +
+            "WHERE t.user_id = :userId " +
+            "AND (lower(coalesce(t.description, '')) LIKE :pattern " +
+            "OR :term <% lower(coalesce(t.description, '')) " +
+            "OR t.category_id IN (SELECT m.id FROM categories m WHERE m.user_id = :userId " +
+            "AND (lower(m.name) LIKE :pattern OR :term <% lower(m.name)))) " +
+            "ORDER BY GREATEST(word_similarity(:term, lower(coalesce(t.description, ''))), " +
+            "word_similarity(:term, lower(c.name))) DESC, " +
+            "t.transaction_date DESC, t.id DESC LIMIT :limit OFFSET :offset", nativeQuery = true)
+    List<Object[]> search(@Param("userId") Long userId,
+                             @Param("pattern") String pattern,
+                             @Param("term") String term,
+                             @Param("limit") int limit,
+                             @Param("offset") int offset);
+
+    // Only the columns the analytics snapshot needs: date, amount, category name, type
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.fetchSize", value = STREAM_FETCH_SIZE),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    @Query("SELECT t.transactionDate, t.amount, c.name, t.type FROM Transaction t JOIN t.category c WHERE t.user.id = :userId")
+    Stream<Object[]> streamAnalyticsColumnsByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT COALESCE(SUM(t.amount), 0) FROM Transaction t WHERE t.user.id = :userId AND t.category.id = :categoryId " +
+            "AND t.type = :type AND t.transactionDate >= :start AND t.transactionDate < :end")
+    BigDecimal sumAmountInWindow(@Param("userId") Long userId,
+                                 @Param("categoryId") Integer categoryId,
+                                 @Param("type") Transaction.TransactionType type,
+                                 @Param("start") LocalDate start,
+                                 @Param("end") LocalDate end);
+
+    @Query("SELECT COALESCE(SUM(t.amount), 0) FROM Transaction t WHERE t.user.id = :userId " +
+            "AND t.type = :type AND t.transactionDate < :date")
+    BigDecimal sumAmountBefore(@Param("userId") Long userId,
+                               @Param("type") Transaction.TransactionType type,
+                               @Param("date") LocalDate date);
+
+    // Oldest first, for statements; same streaming rules as streamResponsesByUserId
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.fetchSize", value = STREAM_FETCH_SIZE),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    @Query(RESPONSE_SELECT + "WHERE t.user.id = :userId AND t.transactionDate BETWEEN :from AND :to " +
+            "ORDER BY t.transactionDate, t.id")
+    Stream<TransactionResponse> streamResponsesByUserIdBetween(@Param("userId") Long userId,
+                                                               @Param("from") LocalDate from,
+                                                               @Param("to") LocalDate to);
 
-    @Query("SELECT SUM(t.amount) FROM Transaction t WHERE t.user = :user AND t.type = :type")
-    BigDecimal getTotalAmountByUserAndType(@Param("user") User user, @Param("type") Transaction.TransactionType type);
+    // Must be consumed inside a read-only transaction; the driver only honours the
+    // fetch size (server-side cursor) when autocommit is off.
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.fetchSize", value = STREAM_FETCH_SIZE),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    @Query(RESPONSE_SELECT + "WHERE t.user.id = :userId ORDER BY t.transactionDate DESC, t.id DESC")
+    Stream<TransactionResponse> streamResponsesByUserId(@Param("userId") Long userId);
 }
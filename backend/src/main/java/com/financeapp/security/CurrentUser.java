@@ -0,0 +1,18 @@
+package com.financeapp.security;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Binds a handler parameter to the authenticated user: a Long receives the user id, a User
+ * receives an uninitialized reference that can be assigned to new entities or passed to
+ * queries without loading the row.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CurrentUser {
+}
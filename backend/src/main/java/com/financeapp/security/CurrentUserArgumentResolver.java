@@ -0,0 +1,54 @@
+package com.financeapp.security;
+
+import com.financeapp.entity.User;
+import com.financeapp.repository.UserRepository;
+import com.financeapp.service.UserDetailsImpl;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.MethodParameter;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+/**
+ * Resolves @CurrentUser parameters from the principal AuthTokenFilter put in the security
+ * context, which already carries the user id, so handlers need no users lookup.
+ */
+@Component
+public class CurrentUserArgumentResolver implements HandlerMethodArgumentResolver {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.hasParameterAnnotation(CurrentUser.class)
+                && (parameter.getParameterType() == Long.class || parameter.getParameterType() == User.class);
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        Long userId = currentUserId();
+        if (userId == null) throw new AuthenticationCredentialsNotFoundException("Not authenticated");
+        return parameter.getParameterType() == User.class ? entityManager.getReference(User.class, userId) : userId;
+    }
+
+    private Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) return null;
+        if (authentication.getPrincipal() instanceof UserDetailsImpl principal) return principal.getId();
+        // Any other kind of authentication names the user
+        return userRepository.findByUsername(authentication.getName()).map(User::getId).orElse(null);
+    }
+}
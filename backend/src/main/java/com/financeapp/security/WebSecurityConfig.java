@@ -3,6 +3,7 @@ package com.financeapp.security;
 import com.financeapp.security.jwt.AuthEntryPointJwt;
 import com.financeapp.security.jwt.AuthTokenFilter;
 import com.financeapp.service.UserDetailsServiceImpl;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -69,7 +70,11 @@ public class WebSecurityConfig {
                 .exceptionHandling().authenticationEntryPoint(unauthorizedHandler).and()
                 .sessionManagement().sessionCreationPolicy(SessionCreationPolicy.STATELESS).and()
                 .authorizeHttpRequests(auth -> auth
+                        // Re-dispatches of streamed responses (SSE, exports) were authorized on the original request
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers("/api/auth/signin", "/api/auth/signup", "/api/auth/forgot-password/**").permitAll()
+                        // Market data feeds authenticate with the ingest key instead of a user token
+                        .requestMatchers("/api/prices/ticks").permitAll()
                         .anyRequest().authenticated()
                 )
                 .authenticationProvider(authenticationProvider())
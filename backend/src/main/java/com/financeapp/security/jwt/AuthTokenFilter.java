@@ -1,11 +1,14 @@
 package com.financeapp.security.jwt;
 
+import com.financeapp.service.UserDetailsImpl;
 import com.financeapp.service.UserDetailsServiceImpl;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -15,7 +18,17 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import com.financeapp.security.JwtUtils;
 
 import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
+/**
+ * Authenticates requests carrying a bearer token.
+ *
+ * With financeapp.app.jwtClaimsPrincipal on, a token holding the user id claim becomes the
+ * principal directly, so requests do not read users. Verified tokens are kept in a bounded
+ * LRU map until they expire, so a client repeating its token skips the signature check
+ * too. Older tokens without the claim, or the mode turned off, fall back to loading the user.
+ */
 @Component
 public class AuthTokenFilter extends OncePerRequestFilter {
 
@@ -25,36 +38,40 @@ public class AuthTokenFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsServiceImpl userDetailsService;
 
+    @Value("${financeapp.app.jwtClaimsPrincipal:true}")
+    private boolean claimsPrincipal;
+
+    @Value("${financeapp.app.jwtCacheSize:10000}")
+    private int cacheSize;
+
+    private record Verified(UserDetailsImpl principal, long expiresAt) {}
+
+    // Access-ordered for LRU eviction; guarded by itself
+    private final LinkedHashMap<String, Verified> verified = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Verified> eldest) {
+            return size() > cacheSize;
+        }
+    };
+
     @Override
     protected void doFilterInternal(HttpServletRequest request,
                                     HttpServletResponse response,
                                     FilterChain filterChain)
             throws ServletException, IOException {
         try {
-            System.out.println(">>> AuthTokenFilter running for URL: " + request.getRequestURI());
-
             String jwt = parseJwt(request);
+            UserDetails userDetails = jwt == null ? null : principal(jwt);
 
-            // Debug info
-            System.out.println("Token from header: " + jwt);
-            System.out.println("Valid? " + (jwt != null && jwtUtils.validateJwtToken(jwt)));
-
-            if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-                String username = jwtUtils.getUserNameFromJwtToken(jwt);
-                System.out.println("Username from token: " + username);
-
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-
-                if (userDetails != null) {
-                    UsernamePasswordAuthenticationToken authentication =
-                            new UsernamePasswordAuthenticationToken(
-                                    userDetails,
-                                    null,
-                                    userDetails.getAuthorities()
-                            );
-                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    SecurityContextHolder.getContext().setAuthentication(authentication);
-                }
+            if (userDetails != null) {
+                UsernamePasswordAuthenticationToken authentication =
+                        new UsernamePasswordAuthenticationToken(
+                                userDetails,
+                                null,
+                                userDetails.getAuthorities()
+                        );
+                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                SecurityContextHolder.getContext().setAuthentication(authentication);
             }
         } catch (Exception e) {
             logger.error("Cannot set user authentication", e);
@@ -63,6 +80,31 @@ public class AuthTokenFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    private UserDetails principal(String jwt) {
+        if (claimsPrincipal) {
+            synchronized (verified) {
+                Verified hit = verified.get(jwt);
+                if (hit != null) {
+                    if (hit.expiresAt() > System.currentTimeMillis()) return hit.principal();
+                    verified.remove(jwt);
+                }
+            }
+        }
+
+        Claims claims = jwtUtils.parseClaims(jwt);
+        if (claims == null) return null;
+        Long userId = claims.get(JwtUtils.USER_ID_CLAIM, Long.class);
+        if (!claimsPrincipal || userId == null) return userDetailsService.loadUserByUsername(claims.getSubject());
+
+        UserDetailsImpl principal = new UserDetailsImpl(userId, claims.getSubject(), null, null);
+        if (claims.getExpiration() != null) {
+            synchronized (verified) {
+                verified.put(jwt, new Verified(principal, claims.getExpiration().getTime()));
+            }
+        }
+        return principal;
+    }
+
     private String parseJwt(HttpServletRequest request) {
         String headerAuth = request.getHeader("Authorization");
 
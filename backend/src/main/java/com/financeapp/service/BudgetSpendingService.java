@@ -0,0 +1,159 @@
+package com.financeapp.service;
+
+import com.financeapp.entity.Budget;
+import com.financeapp.entity.Transaction;
+import com.financeapp.repository.BudgetRepository;
+import com.financeapp.repository.TransactionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps Budget.spentAmount equal to the EXPENSE total of the budget's category within its
+ * current WEEKLY/MONTHLY/YEARLY window, so listing budgets is a plain read.
+ *
+ * Transaction writes apply atomic increments. Budgets whose window has passed are rolled
+ * over set-wise by a daily job, and lazily by any write that touches the category, so a
+ * write landing just after a boundary never races the job. Because a lazy roll-over
+ * recomputes from the table, callers must flush the transaction change before calling in.
+ */
+@Service
+public class BudgetSpendingService {
+    private static final Logger logger = LoggerFactory.getLogger(BudgetSpendingService.class);
+
+    // Moves stale budgets to the window containing the reference date and recomputes spent
+    private static final String ROLL_OVER_SQL =
+            "UPDATE budgets b SET period_start = w.window_start, updated_at = now(), spent_amount = COALESCE((" +
+            "SELECT SUM(t.amount) FROM transactions t WHERE t.user_id = b.user_id AND t.category_id = b.category_id " +
+            "AND t.transaction_type = 'EXPENSE' AND t.transaction_date >= w.window_start AND t.transaction_date < w.window_end), 0) " +
+            "FROM (VALUES ('WEEKLY', ?, ?), ('MONTHLY', ?, ?), ('YEARLY', ?, ?)) AS w(period, window_start, window_end) " +
+            "WHERE b.period = w.period AND (b.period_start IS NULL OR b.period_start < w.window_start)";
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CollectionVersionService collectionVersionService;
+
+    @Autowired
+    private ChangeLogService changeLogService;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void add(Transaction t) {
+        apply(t, t.getAmount());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void remove(Transaction t) {
+        apply(t, t.getAmount() == null ? null : t.getAmount().negate());
+    }
+
+    private void apply(Transaction t, BigDecimal delta) {
+        if (t.getType() != Transaction.TransactionType.EXPENSE || t.getTransactionDate() == null
+                || t.getCategory() == null || delta == null) {
+            return;
+        }
+        applyExpense(t.getUser().getId(), t.getCategory().getId(), t.getTransactionDate(), delta);
+    }
+
+    /**
+     * Adds an expense delta for one category and date, e.g. a pre-aggregated group from a bulk import.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void applyExpense(Long userId, Integer categoryId, LocalDate date, BigDecimal delta) {
+        List<Long> rolled = rollOver(LocalDate.now(), userId, categoryId).stream()
+                .map(RolledBudget::id)
+                .collect(Collectors.toList());
+        // ids start at 1, so 0 excludes nothing when no budget was rolled over
+        int incremented = budgetRepository.incrementSpent(userId, categoryId, delta,
+                Budget.BudgetPeriod.WEEKLY, Budget.BudgetPeriod.WEEKLY.windowStart(date),
+                Budget.BudgetPeriod.MONTHLY, Budget.BudgetPeriod.MONTHLY.windowStart(date),
+                Budget.BudgetPeriod.YEARLY, Budget.BudgetPeriod.YEARLY.windowStart(date),
+                rolled.isEmpty() ? List.of(0L) : rolled);
+        if (incremented > 0 || !rolled.isEmpty()) {
+            // At most one budget per period, so syncing all of the category's is cheap
+            changeLogService.recordUpserts(userId, ChangeLogService.Entity.BUDGET, jdbcTemplate.queryForList(
+                    "SELECT id FROM budgets WHERE user_id = ? AND category_id = ?", Long.class, userId, categoryId));
+        }
+    }
+
+    // Oldest date that can still fall in any budget's current window
+    public static LocalDate earliestCurrentWindowStart(LocalDate today) {
+        LocalDate earliest = today;
+        for (Budget.BudgetPeriod period : Budget.BudgetPeriod.values()) {
+            LocalDate start = period.windowStart(today);
+            if (start.isBefore(earliest)) earliest = start;
+        }
+        return earliest;
+    }
+
+    /**
+     * Points a new or edited budget at the current window and computes its spent amount.
+     * Call before saving the budget.
+     */
+    public void recalculate(Budget budget) {
+        LocalDate start = budget.getPeriod().windowStart(LocalDate.now());
+        budget.setPeriodStart(start);
+        budget.setSpentAmount(transactionRepository.sumAmountInWindow(budget.getUser().getId(), budget.getCategory().getId(),
+                Transaction.TransactionType.EXPENSE, start, budget.getPeriod().windowEnd(start)));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void rollOverOnStartup() {
+        rollOverAll();
+    }
+
+    @Scheduled(cron = "${financeapp.budgets.rolloverCron:0 5 0 * * *}")
+    @Transactional
+    public void rollOverAll() {
+        List<RolledBudget> rolled = rollOver(LocalDate.now(), null, null);
+        if (rolled.isEmpty()) return;
+        rolled.stream().collect(Collectors.groupingBy(RolledBudget::userId,
+                        Collectors.mapping(RolledBudget::id, Collectors.toList())))
+                .forEach((userId, ids) -> changeLogService.recordUpserts(userId, ChangeLogService.Entity.BUDGET, ids));
+        collectionVersionService.bump(rolled.stream().map(RolledBudget::userId).collect(Collectors.toSet()),
+                CollectionVersionService.Kind.BUDGETS);
+        logger.info("Rolled {} budgets over to their current period", rolled.size());
+    }
+
+    private record RolledBudget(Long id, Long userId) {}
+
+    // Returns the budgets that were moved to a new window
+    private List<RolledBudget> rollOver(LocalDate today, Long userId, Integer categoryId) {
+        List<Object> args = new ArrayList<>();
+        for (Budget.BudgetPeriod period : Budget.BudgetPeriod.values()) {
+            LocalDate start = period.windowStart(today);
+            args.add(Date.valueOf(start));
+            args.add(Date.valueOf(period.windowEnd(start)));
+        }
+        String sql = ROLL_OVER_SQL;
+        if (userId != null) {
+            sql += " AND b.user_id = ? AND b.category_id = ?";
+            args.add(userId);
+            args.add(categoryId);
+        }
+        return jdbcTemplate.query(sql + " RETURNING b.id, b.user_id",
+                (rs, i) -> new RolledBudget(rs.getLong(1), rs.getLong(2)), args.toArray());
+    }
+}
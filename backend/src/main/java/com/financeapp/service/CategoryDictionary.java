@@ -0,0 +1,166 @@
+package com.financeapp.service;
+
+import com.financeapp.entity.Category;
+import com.financeapp.entity.User;
+import com.financeapp.event.TransactionsChangedEvent;
+import com.financeapp.repository.CategoryRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Interns category names to per-user integer ids. Lookups are served from a bounded
+ * in-process LRU map; misses fall through to an atomic get-or-create upsert. A rename is
+ * announced on NOTIFY_CHANNEL so every node drops the user's cached names.
+ */
+@Service
+public class CategoryDictionary {
+
+    public static final String NOTIFY_CHANNEL = "categories";
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO categories (user_id, name) VALUES (?, ?) " +
+            "ON CONFLICT (user_id, name) DO UPDATE SET name = EXCLUDED.name RETURNING id";
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ChangeLogService changeLogService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${financeapp.categories.cacheSize:100000}")
+    private int cacheSize;
+
+    private record Key(Long userId, String name) {}
+
+    // Access-ordered for LRU eviction; guarded by itself
+    private final LinkedHashMap<Key, Integer> ids = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Integer> eldest) {
+            return size() > cacheSize;
+        }
+    };
+
+    public static String normalize(String name) {
+        return name == null || name.isBlank() ? "Uncategorized" : name.trim();
+    }
+
+    /**
+     * Returns the category with this name, creating it if needed. The result is a detached
+     * instance that can be assigned to a transaction or budget without loading anything.
+     */
+    @Transactional
+    public Category resolve(Long userId, String name) {
+        String normalized = normalize(name);
+        Key key = new Key(userId, normalized);
+        Integer id = cached(key);
+        if (id == null) {
+            id = jdbcTemplate.queryForObject(UPSERT_SQL, Integer.class, userId, normalized);
+            cacheAfterCommit(key, id);
+        }
+        return new Category(id, normalized);
+    }
+
+    // Looks a name up without creating it
+    public Optional<Category> find(Long userId, String name) {
+        String normalized = normalize(name);
+        Key key = new Key(userId, normalized);
+        Integer id = cached(key);
+        if (id != null) return Optional.of(new Category(id, normalized));
+
+        Optional<Category> found = categoryRepository.findByUserIdAndName(userId, normalized);
+        found.ifPresent(c -> cache(key, c.getId()));
+        return found.map(c -> new Category(c.getId(), c.getName()));
+    }
+
+    /**
+     * Renames a category: one row changes, and every transaction and budget follows it.
+     * Synced clients learn about it from a single category change in the log.
+     *
+     * @return the renamed category, or empty when it does not belong to the user
+     */
+    @Transactional
+    public Optional<Category> rename(User user, Integer id, String newName) {
+        Optional<Category> existing = categoryRepository.findByIdAndUser(id, user);
+        existing.ifPresent(category -> {
+            category.setName(normalize(newName));
+            categoryRepository.saveAndFlush(category);
+            // Delivered to every node, this one included, once the rename commits
+            jdbcTemplate.query("SELECT pg_notify(?, ?)", rs -> {}, NOTIFY_CHANNEL, user.getId().toString());
+            evictAfterCommit(user.getId());
+            changeLogService.recordUpsert(user.getId(), ChangeLogService.Entity.CATEGORY, id.longValue());
+            // Snapshots that carry category names must be rebuilt
+            eventPublisher.publishEvent(new TransactionsChangedEvent(user.getId()));
+        });
+        return existing;
+    }
+
+    // Drops the user's cached names, e.g. after a rename on another node
+    public void evictUser(Long userId) {
+        synchronized (ids) {
+            ids.keySet().removeIf(key -> key.userId().equals(userId));
+        }
+    }
+
+    // For when renames may have been missed, e.g. while the notification listener reconnects
+    public void evictAll() {
+        synchronized (ids) {
+            ids.clear();
+        }
+    }
+
+    private Integer cached(Key key) {
+        synchronized (ids) {
+            return ids.get(key);
+        }
+    }
+
+    private void cache(Key key, Integer id) {
+        synchronized (ids) {
+            ids.put(key, id);
+        }
+    }
+
+    // Evicting only after commit keeps a concurrent lookup from re-caching the old name
+    private void evictAfterCommit(Long userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictUser(userId);
+                }
+            });
+        } else {
+            evictUser(userId);
+        }
+    }
+
+    // A category created inside a transaction that later rolls back must not stay cached
+    private void cacheAfterCommit(Key key, Integer id) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache(key, id);
+                }
+            });
+        } else {
+            cache(key, id);
+        }
+    }
+}
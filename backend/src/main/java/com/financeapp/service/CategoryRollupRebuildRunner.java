@@ -0,0 +1,37 @@
+package com.financeapp.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * One-off maintenance command: start the app with --financeapp.rollups.rebuild=true to
+ * repopulate category_rollups from scratch and check the result against transactions.
+ */
+@Component
+@ConditionalOnProperty(name = "financeapp.rollups.rebuild", havingValue = "true")
+public class CategoryRollupRebuildRunner implements ApplicationRunner {
+    private static final Logger logger = LoggerFactory.getLogger(CategoryRollupRebuildRunner.class);
+
+    @Autowired
+    private CategoryRollupService categoryRollupService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        categoryRollupService.rebuild();
+
+        List<String> mismatches = categoryRollupService.verify();
+        if (mismatches.isEmpty()) {
+            logger.info("Category rollups verified against transactions: consistent");
+        } else {
+            logger.error("Category rollups differ from transactions ({} shown):", mismatches.size());
+            mismatches.forEach(m -> logger.error("  {}", m));
+        }
+    }
+}
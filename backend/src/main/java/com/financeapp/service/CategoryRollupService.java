@@ -0,0 +1,124 @@
+package com.financeapp.service;
+
+import com.financeapp.entity.CategoryRollup;
+import com.financeapp.entity.Transaction;
+import com.financeapp.entity.User;
+import com.financeapp.money.Money;
+import com.financeapp.repository.CategoryRollupRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Keeps category_rollups in step with the transactions table. Every write path calls
+ * {@link #add} / {@link #remove} inside its own DB transaction, so a rollup row can never
+ * disagree with committed transactions.
+ */
+@Service
+public class CategoryRollupService {
+    private static final Logger logger = LoggerFactory.getLogger(CategoryRollupService.class);
+
+    // Same grouping the incremental path maintains; rows missing a key column are not rolled up
+    private static final String RAW_AGGREGATE =
+            "SELECT user_id, date_trunc('month', transaction_date)::date AS month_start, category_id, transaction_type, " +
+            "SUM(amount) AS total_amount, COUNT(*) AS txn_count FROM transactions " +
+            "WHERE user_id IS NOT NULL AND transaction_date IS NOT NULL AND category_id IS NOT NULL AND transaction_type IS NOT NULL " +
+            "GROUP BY 1, 2, 3, 4";
+
+    private static final int MAX_REPORTED_MISMATCHES = 100;
+
+    @Autowired
+    private CategoryRollupRepository categoryRollupRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public static LocalDate monthStart(LocalDate date) {
+        return date.withDayOfMonth(1);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void add(Transaction t) {
+        apply(t, 1);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void remove(Transaction t) {
+        apply(t, -1);
+        categoryRollupRepository.deleteEmpty(t.getUser().getId());
+    }
+
+    /**
+     * Adds a pre-aggregated delta, e.g. one call per (month, category, type) group of a bulk import.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void applyDelta(Long userId, LocalDate monthStart, Integer categoryId,
+                           Transaction.TransactionType type, Money amount, long count) {
+        categoryRollupRepository.applyDelta(userId, monthStart, categoryId, type.name(), amount.toBigDecimal(), count);
+    }
+
+    private void apply(Transaction t, int sign) {
+        if (t.getTransactionDate() == null || t.getType() == null || t.getCategory() == null || t.getAmount() == null) {
+            return;
+        }
+        BigDecimal amount = sign > 0 ? t.getAmount() : t.getAmount().negate();
+        categoryRollupRepository.applyDelta(t.getUser().getId(), monthStart(t.getTransactionDate()),
+                t.getCategory().getId(), t.getType().name(), amount, sign);
+    }
+
+    public Money getTotalAmount(User user, Transaction.TransactionType type) {
+        return Money.ofNullable(categoryRollupRepository.getTotalAmountByUserAndType(user.getId(), type.name()));
+    }
+
+    public List<CategoryRollup> getMonthlyRollups(User user, LocalDate fromMonth, LocalDate toMonth) {
+        return categoryRollupRepository.findMonthlyByUser(user, monthStart(fromMonth), monthStart(toMonth));
+    }
+
+    /**
+     * Recomputes every rollup row from the raw transactions. The table lock makes concurrent
+     * writers wait for the rebuild to commit, after which their deltas apply on top of it.
+     *
+     * @return number of rollup rows written
+     */
+    @Transactional
+    public int rebuild() {
+        jdbcTemplate.execute("LOCK TABLE category_rollups IN EXCLUSIVE MODE");
+        jdbcTemplate.update("DELETE FROM category_rollups");
+        int rows = jdbcTemplate.update(
+                "INSERT INTO category_rollups (user_id, month_start, category_id, transaction_type, total_amount, txn_count) " +
+                RAW_AGGREGATE);
+        logger.info("Rebuilt category rollups: {} rows", rows);
+        return rows;
+    }
+
+    /**
+     * Compares the rollups with a fresh aggregate over transactions.
+     *
+     * @return a description of each mismatching key (capped), empty when consistent
+     */
+    @Transactional(readOnly = true)
+    public List<String> verify() {
+        String sql =
+                "SELECT COALESCE(r.user_id, x.user_id) AS user_id, COALESCE(r.month_start, x.month_start) AS month_start, " +
+                "COALESCE(r.category_id, x.category_id) AS category_id, COALESCE(r.transaction_type, x.transaction_type) AS transaction_type, " +
+                "x.total_amount AS raw_total, x.txn_count AS raw_count, r.total_amount AS rollup_total, r.txn_count AS rollup_count " +
+                "FROM (" + RAW_AGGREGATE + ") x " +
+                "FULL OUTER JOIN category_rollups r ON r.user_id = x.user_id AND r.month_start = x.month_start " +
+                "AND r.category_id = x.category_id AND r.transaction_type = x.transaction_type " +
+                "WHERE x.total_amount IS DISTINCT FROM r.total_amount OR x.txn_count IS DISTINCT FROM r.txn_count " +
+                "LIMIT " + MAX_REPORTED_MISMATCHES;
+        return jdbcTemplate.query(sql, (rs, i) -> String.format(
+                "user=%d month=%s category_id=%d type=%s raw=%s/%s rollup=%s/%s",
+                rs.getLong("user_id"), rs.getDate("month_start"), rs.getInt("category_id"),
+                rs.getString("transaction_type"), rs.getBigDecimal("raw_total"), rs.getObject("raw_count"),
+                rs.getBigDecimal("rollup_total"), rs.getObject("rollup_count")));
+    }
+}
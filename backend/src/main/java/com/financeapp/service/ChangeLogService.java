@@ -0,0 +1,164 @@
+package com.financeapp.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Records creates, updates and deletes of synced entities in change_log, the feed behind
+ * GET /api/sync.
+ *
+ * Changes are buffered per DB transaction and written just before it commits, repeated
+ * changes to one entity collapsing into the last. The per-user advisory locks are taken in
+ * user id order at that point, so they are held only for the final insert and two writers
+ * covering several users cannot deadlock on them. The affected user ids are announced with
+ * NOTIFY on NOTIFY_CHANNEL, which Postgres delivers to every node only if the commit succeeds.
+ */
+@Service
+public class ChangeLogService {
+    private static final Logger logger = LoggerFactory.getLogger(ChangeLogService.class);
+
+    // CATEGORY marks a rename, which changes the name shown on every row of the category
+    public enum Entity { TRANSACTION, BUDGET, INVESTMENT, CATEGORY }
+
+    public record Change(long seq, Entity entity, long entityId, boolean deleted) {}
+
+    private record Key(Long userId, Entity entity, Long entityId) {}
+
+    public static final String NOTIFY_CHANNEL = "change_log";
+
+    // Keeps each NOTIFY payload well under the 8000 byte limit
+    private static final int NOTIFY_BATCH = 500;
+
+    private static final String INSERT_SQL =
+            "INSERT INTO change_log (user_id, entity, entity_id, deleted) VALUES (?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${financeapp.sync.retentionDays:90}")
+    private int retentionDays;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordUpsert(Long userId, Entity entity, Long id) {
+        pending().put(new Key(userId, entity, id), false);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordUpserts(Long userId, Entity entity, Collection<Long> ids) {
+        Map<Key, Boolean> pending = pending();
+        for (Long id : ids) pending.put(new Key(userId, entity, id), false);
+    }
+
+    // Tombstone: the entity is gone and clients should drop their copy
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordDelete(Long userId, Entity entity, Long id) {
+        pending().put(new Key(userId, entity, id), true);
+    }
+
+    /**
+     * Up to limit changes after the given seq, oldest first. Reading limit + 1 tells the
+     * caller whether more remain.
+     */
+    public List<Change> changesSince(Long userId, long since, int limit) {
+        return jdbcTemplate.query(
+                "SELECT seq, entity, entity_id, deleted FROM change_log WHERE user_id = ? AND seq > ? ORDER BY seq LIMIT ?",
+                (rs, i) -> new Change(rs.getLong(1), Entity.valueOf(rs.getString(2)), rs.getLong(3), rs.getBoolean(4)),
+                userId, since, limit);
+    }
+
+    // Newest seq a client of this user can resume from without missing anything
+    public long head(Long userId) {
+        Long head = jdbcTemplate.queryForObject(
+                "SELECT GREATEST((SELECT MAX(seq) FROM change_log WHERE user_id = ?), (SELECT seq FROM change_log_floor))",
+                Long.class, userId);
+        return head == null ? 0 : head;
+    }
+
+    // Tokens below this point at pruned history
+    public long floor() {
+        Long floor = jdbcTemplate.queryForObject("SELECT seq FROM change_log_floor", Long.class);
+        return floor == null ? 0 : floor;
+    }
+
+    /**
+     * Invalidates every outstanding token, e.g. after rows disappeared without tombstones
+     * because a transactions partition was dropped.
+     */
+    @Transactional
+    public void invalidateAll() {
+        prune("SELECT MAX(seq) FROM change_log", new Object[0]);
+    }
+
+    @Scheduled(cron = "${financeapp.sync.pruneCron:0 45 3 * * *}")
+    @Transactional
+    public void pruneExpired() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        int removed = prune("SELECT MAX(seq) FROM change_log WHERE changed_at < ?",
+                new Object[]{Timestamp.valueOf(cutoff)});
+        if (removed > 0) {
+            logger.info("Pruned {} change log entries older than {} days", removed, retentionDays);
+        }
+    }
+
+    private int prune(String floorSql, Object[] args) {
+        Long floor = jdbcTemplate.queryForObject(floorSql, Long.class, args);
+        if (floor == null) return 0;
+        jdbcTemplate.update("UPDATE change_log_floor SET seq = GREATEST(seq, ?)", floor);
+        return jdbcTemplate.update("DELETE FROM change_log WHERE seq <= ?", floor);
+    }
+
+    private Map<Key, Boolean> pending() {
+        for (TransactionSynchronization sync : TransactionSynchronizationManager.getSynchronizations()) {
+            if (sync instanceof PendingChanges pending) return pending.changes;
+        }
+        PendingChanges pending = new PendingChanges();
+        TransactionSynchronizationManager.registerSynchronization(pending);
+        return pending.changes;
+    }
+
+    private class PendingChanges implements TransactionSynchronization {
+        private final Map<Key, Boolean> changes = new LinkedHashMap<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            if (changes.isEmpty()) return;
+            TreeSet<Long> users = new TreeSet<>();
+            List<Object[]> rows = new ArrayList<>(changes.size());
+            changes.forEach((key, deleted) -> {
+                users.add(key.userId());
+                rows.add(new Object[]{key.userId(), key.entity().name(), key.entityId(), deleted});
+            });
+            for (Long userId : users) {
+                jdbcTemplate.query("SELECT pg_advisory_xact_lock(?)", rs -> {}, userId);
+            }
+            jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+
+            List<Long> ids = new ArrayList<>(users);
+            for (int i = 0; i < ids.size(); i += NOTIFY_BATCH) {
+                String payload = ids.subList(i, Math.min(i + NOTIFY_BATCH, ids.size())).stream()
+                        .map(String::valueOf)
+                        .collect(Collectors.joining(","));
+                jdbcTemplate.query("SELECT pg_notify(?, ?)", rs -> {}, NOTIFY_CHANNEL, payload);
+            }
+        }
+    }
+}
@@ -0,0 +1,393 @@
+package com.financeapp.service;
+
+import com.financeapp.dto.SyncResponse;
+import com.financeapp.quote.PriceIngestService;
+import com.financeapp.repository.InvestmentRepository;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes account changes to open /api/stream connections as server-sent events.
+ *
+ * Idle connections are parked async requests, so they cost a socket and a small
+ * Subscriber but no thread. Committed writes arrive as user ids on the change log's
+ * NOTIFY channel (from any node) and only mark the user dirty; a ticker drains the dirty
+ * set every coalesceMs, so a burst of writes becomes one push per connection. Each push is
+ * the same delta GET /api/sync returns for the connection's last token, so nothing is ever
+ * queued per connection: a consumer that is still writing the previous push just gets the
+ * newer delta afterwards, and one that has fallen further behind than a sync page is sent
+ * a resync event and closed. Price ticks arrive on the symbol price channel and wake only
+ * the streams whose user holds one of the ticked symbols.
+ *
+ * Servlet writes block, so each write runs on a writer thread while the sender waits at most
+ * sendTimeoutMs for it. A client that does not take its data in that time is dropped; its
+ * writer stays blocked until the connector's write timeout, but no sender does. There are at
+ * most writers writer threads: when all are blocked, further writes are refused and their
+ * streams dropped rather than given a thread each, and a stream whose last write has not
+ * finished gets no other write, heartbeats included.
+ */
+@Service
+public class ChangeStreamService {
+    private static final Logger logger = LoggerFactory.getLogger(ChangeStreamService.class);
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private SyncService syncService;
+
+    @Autowired
+    private InvestmentRepository investmentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CategoryDictionary categoryDictionary;
+
+    @Value("${financeapp.stream.coalesceMs:250}")
+    private long coalesceMs;
+
+    @Value("${financeapp.stream.timeoutMs:1800000}")
+    private long timeoutMs;
+
+    @Value("${financeapp.stream.heartbeatSeconds:30}")
+    private int heartbeatSeconds;
+
+    @Value("${financeapp.stream.maxConnectionsPerUser:5}")
+    private int maxConnectionsPerUser;
+
+    @Value("${financeapp.stream.senders:8}")
+    private int senders;
+
+    @Value("${financeapp.stream.sendTimeoutMs:10000}")
+    private long sendTimeoutMs;
+
+    @Value("${financeapp.stream.writers:64}")
+    private int writers;
+
+    private final Map<Long, Set<Subscriber>> streams = new ConcurrentHashMap<>();
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+
+    private ScheduledExecutorService ticker;
+    private ExecutorService sendPool;
+    private ExecutorService writerPool;
+    private Thread listener;
+    private volatile boolean running;
+    // Newest symbol price this node has dispatched; only touched by the listener thread
+    private long priceSeq;
+
+    private static final class Subscriber {
+        final Long userId;
+        final SseEmitter emitter;
+        // Set once the stream is registered; no push runs before that
+        volatile SyncService.SyncToken token;
+        // Upper-cased symbols the user holds, refreshed when their investments change
+        volatile Set<String> symbols;
+        // At most one send per stream is queued or running at a time; held until the ready event is out
+        final AtomicBoolean sending = new AtomicBoolean(true);
+        volatile boolean pending;
+        volatile boolean closed;
+        // Set while a write is on a writer thread, which may outlive the sender's wait
+        volatile boolean writing;
+
+        Subscriber(Long userId, SseEmitter emitter, Set<String> symbols) {
+            this.userId = userId;
+            this.emitter = emitter;
+            this.symbols = symbols;
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        running = true;
+        AtomicInteger threadCount = new AtomicInteger();
+        sendPool = Executors.newFixedThreadPool(senders, runnable -> {
+            Thread thread = new Thread(runnable, "stream-sender-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        writerPool = new ThreadPoolExecutor(0, writers, 60, TimeUnit.SECONDS, new SynchronousQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "stream-writer-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "stream-ticker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleWithFixedDelay(this::drainDirty, coalesceMs, coalesceMs, TimeUnit.MILLISECONDS);
+        ticker.scheduleWithFixedDelay(this::heartbeat, heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+
+        listener = new Thread(this::listen, "stream-listener");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (listener != null) listener.interrupt();
+        if (ticker != null) ticker.shutdownNow();
+        if (sendPool != null) sendPool.shutdownNow();
+        if (writerPool != null) writerPool.shutdownNow();
+        streams.values().forEach(set -> set.forEach(s -> s.emitter.complete()));
+    }
+
+    /**
+     * Opens a stream for the user. With a token the stream first catches up from it, without
+     * one it starts at the user's current head.
+     *
+     * @throws IllegalArgumentException if the token is malformed
+     * @throws IllegalStateException if the user already has the maximum number of streams open
+     */
+    public SseEmitter subscribe(Long userId, String token) throws IOException {
+        SyncService.SyncToken since = SyncService.parseToken(token);
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber stream = new Subscriber(userId, emitter, heldSymbols(userId));
+        AtomicBoolean added = new AtomicBoolean();
+        streams.compute(userId, (id, set) -> {
+            if (set == null) set = ConcurrentHashMap.newKeySet();
+            if (set.size() < maxConnectionsPerUser) added.set(set.add(stream));
+            return set.isEmpty() ? null : set;
+        });
+        if (!added.get()) throw new IllegalStateException("Too many open streams");
+        emitter.onCompletion(() -> remove(stream));
+        emitter.onTimeout(() -> remove(stream));
+        emitter.onError(e -> remove(stream));
+
+        // Registered before head is read, so a change committed after that read marks this stream
+        // dirty; it is pushed by the schedule below once the ready event is out
+        try {
+            stream.token = since != null ? since : syncService.head(userId);
+            emitter.send(SseEmitter.event().name("ready").id(stream.token.toString())
+                    .data(Map.of("token", stream.token.toString()), MediaType.APPLICATION_JSON));
+        } catch (IOException | RuntimeException e) {
+            remove(stream);
+            throw e;
+        } finally {
+            stream.sending.set(false);
+        }
+        schedule(stream);
+        return emitter;
+    }
+
+    private void remove(Subscriber stream) {
+        stream.closed = true;
+        streams.computeIfPresent(stream.userId, (id, set) -> {
+            set.remove(stream);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    private void drainDirty() {
+        for (Iterator<Long> it = dirty.iterator(); it.hasNext(); ) {
+            Long userId = it.next();
+            it.remove();
+            Set<Subscriber> subscribers = streams.get(userId);
+            if (subscribers != null) subscribers.forEach(this::schedule);
+        }
+    }
+
+    private void schedule(Subscriber stream) {
+        // A dropped stream may still have a write blocked on it; never queue another behind it
+        if (stream.closed) return;
+        stream.pending = true;
+        if (stream.sending.compareAndSet(false, true)) {
+            sendPool.execute(() -> push(stream));
+        }
+    }
+
+    private void push(Subscriber stream) {
+        try {
+            while (stream.pending) {
+                stream.pending = false;
+                SyncResponse changes = syncService.changesSince(stream.userId, stream.token);
+                if (changes.isFullResync() || changes.isHasMore()) {
+                    // Too far behind to stream; the client catches up through /api/sync and reconnects
+                    send(stream, SseEmitter.event().name("resync").id(stream.token.toString())
+                            .data(Map.of("token", stream.token.toString()), MediaType.APPLICATION_JSON));
+                    stream.emitter.complete();
+                    return;
+                }
+                SyncService.SyncToken token = SyncService.parseToken(changes.getToken());
+                if (!token.equals(stream.token)) {
+                    send(stream, SseEmitter.event().name("changes").id(changes.getToken())
+                            .data(changes, MediaType.APPLICATION_JSON));
+                    stream.token = token;
+                }
+                if (!changes.getInvestments().isEmpty() || !changes.getDeleted().getInvestments().isEmpty()) {
+                    stream.symbols = heldSymbols(stream.userId);
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Client went away or is too slow to keep up
+            remove(stream);
+        } catch (RuntimeException e) {
+            logger.warn("Failed to push changes to user {}", stream.userId, e);
+            stream.emitter.completeWithError(e);
+        } finally {
+            stream.sending.set(false);
+        }
+        // A change that arrived after the loop's last check
+        if (stream.pending) schedule(stream);
+    }
+
+    /**
+     * Writes one event, waiting at most sendTimeoutMs. On timeout the write is left to finish
+     * or fail on its writer thread; the emitter completes itself when it fails.
+     *
+     * @throws IOException if the write failed or timed out, the stream's previous write is
+     *         still pending or no writer thread is free
+     */
+    private void send(Subscriber stream, SseEmitter.SseEventBuilder event) throws IOException {
+        if (stream.closed || stream.writing) throw new IOException("Previous write still pending");
+        stream.writing = true;
+        Future<?> write;
+        try {
+            write = writerPool.submit(() -> {
+                try {
+                    stream.emitter.send(event);
+                } finally {
+                    stream.writing = false;
+                }
+                return null;
+            });
+        } catch (RejectedExecutionException e) {
+            stream.writing = false;
+            throw new IOException("All " + writers + " stream writers are busy");
+        }
+        try {
+            write.get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new IOException("Client did not accept an event within " + sendTimeoutMs + " ms");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while sending", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io) throw io;
+            if (e.getCause() instanceof RuntimeException runtime) throw runtime;
+            throw new IOException(e.getCause());
+        }
+    }
+
+    private Set<String> heldSymbols(Long userId) {
+        return Set.copyOf(investmentRepository.findNormalizedSymbolsByUserId(userId));
+    }
+
+    // Wakes the streams holding any symbol that ticked since the last call
+    private void onPricesChanged() {
+        Set<String> ticked = new HashSet<>();
+        jdbcTemplate.query("SELECT symbol, seq FROM symbol_prices WHERE seq > ?", rs -> {
+            ticked.add(rs.getString(1));
+            priceSeq = Math.max(priceSeq, rs.getLong(2));
+        }, priceSeq);
+        if (ticked.isEmpty()) return;
+        streams.values().forEach(set -> set.forEach(stream -> {
+            for (String symbol : stream.symbols) {
+                if (ticked.contains(symbol)) {
+                    schedule(stream);
+                    return;
+                }
+            }
+        }));
+    }
+
+    // Keeps proxies and load balancers from closing idle streams
+    private void heartbeat() {
+        streams.values().forEach(set -> set.forEach(stream -> {
+            if (stream.closed || stream.writing || !stream.sending.compareAndSet(false, true)) return;
+            sendPool.execute(() -> {
+                try {
+                    send(stream, SseEmitter.event().comment("keepalive"));
+                } catch (IOException | IllegalStateException e) {
+                    remove(stream);
+                } finally {
+                    stream.sending.set(false);
+                }
+                if (stream.pending) schedule(stream);
+            });
+        }));
+    }
+
+    // Holds one pooled connection for LISTEN; reconnects on failure and then rechecks every open stream.
+    // Category renames share the connection, since this is the node's only listener.
+    private void listen() {
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + ChangeLogService.NOTIFY_CHANNEL);
+                    statement.execute("LISTEN " + PriceIngestService.NOTIFY_CHANNEL);
+                    statement.execute("LISTEN " + CategoryDictionary.NOTIFY_CHANNEL);
+                }
+                PGConnection pg = connection.unwrap(PGConnection.class);
+                // Renames may have been missed while disconnected
+                categoryDictionary.evictAll();
+                dirty.addAll(streams.keySet());
+                priceSeq = syncService.priceHead();
+                while (running) {
+                    PGNotification[] notifications = pg.getNotifications(1000);
+                    if (notifications == null) continue;
+                    boolean pricesChanged = false;
+                    for (PGNotification notification : notifications) {
+                        if (PriceIngestService.NOTIFY_CHANNEL.equals(notification.getName())) {
+                            pricesChanged = true;
+                            continue;
+                        }
+                        if (CategoryDictionary.NOTIFY_CHANNEL.equals(notification.getName())) {
+                            categoryDictionary.evictUser(Long.valueOf(notification.getParameter()));
+                            continue;
+                        }
+                        for (String id : notification.getParameter().split(",")) {
+                            dirty.add(Long.valueOf(id));
+                        }
+                    }
+                    if (pricesChanged) onPricesChanged();
+                }
+            } catch (SQLException e) {
+                if (!running) return;
+                logger.warn("Change notification listener failed, reconnecting", e);
+                try {
+                    Thread.sleep(5000);
+                } catch (InterruptedException ie) {
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.financeapp.service;
+
+import com.financeapp.event.TransactionsChangedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Per-user, per-collection version counters backing the ETags of the list endpoints.
+ * Counters are bumped inside the writing DB transaction, so a committed change is never
+ * visible under an old version.
+ */
+@Service
+public class CollectionVersionService {
+
+    public enum Kind { TRANSACTIONS, BUDGETS, INVESTMENTS }
+
+    private static final String BUMP_SQL =
+            "INSERT INTO collection_versions (user_id, collection, version) VALUES (?, ?, 1) " +
+            "ON CONFLICT (user_id, collection) DO UPDATE SET version = collection_versions.version + 1";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Transactional
+    public void bump(Long userId, Kind kind) {
+        jdbcTemplate.update(BUMP_SQL, userId, kind.name());
+    }
+
+    @Transactional
+    public void bump(Collection<Long> userIds, Kind kind) {
+        if (userIds.isEmpty()) return;
+        jdbcTemplate.batchUpdate(BUMP_SQL, userIds.stream()
+                .map(id -> new Object[]{id, kind.name()})
+                .collect(Collectors.toList()));
+    }
+
+    // For changes that touch every user, e.g. dropping a transactions partition. Users without
+    // a row are on version 0 and get one too, or their old ETags would stay valid.
+    @Transactional
+    public void bumpAll(Kind kind) {
+        jdbcTemplate.update("INSERT INTO collection_versions (user_id, collection, version) SELECT id, ?, 1 FROM users " +
+                "ON CONFLICT (user_id, collection) DO UPDATE SET version = collection_versions.version + 1", kind.name());
+    }
+
+    // Transactions, their rollups and budget spending all change through this event
+    @EventListener
+    public void onTransactionsChanged(TransactionsChangedEvent event) {
+        bump(event.getUserId(), Kind.TRANSACTIONS);
+    }
+
+    // Current counter of one collection, 0 before its first change
+    public long version(Long userId, Kind kind) {
+        List<Long> versions = jdbcTemplate.queryForList(
+                "SELECT version FROM collection_versions WHERE user_id = ? AND collection = ?", Long.class, userId, kind.name());
+        return versions.isEmpty() ? 0L : versions.get(0);
+    }
+
+    /**
+     * Strong ETag for a list built from the given collections. variant distinguishes different
+     * representations of the same data, e.g. paging parameters.
+     */
+    public String etag(Long userId, String variant, Kind... kinds) {
+        Map<Kind, Long> versions = new EnumMap<>(Kind.class);
+        String placeholders = Arrays.stream(kinds).map(k -> "?").collect(Collectors.joining(","));
+        Object[] args = new Object[kinds.length + 1];
+        args[0] = userId;
+        for (int i = 0; i < kinds.length; i++) args[i + 1] = kinds[i].name();
+        jdbcTemplate.query("SELECT collection, version FROM collection_versions WHERE user_id = ? AND collection IN ("
+                        + placeholders + ")",
+                rs -> { versions.put(Kind.valueOf(rs.getString(1)), rs.getLong(2)); }, args);
+
+        // The user id keeps one browser from matching another user's cached list
+        StringBuilder etag = new StringBuilder("\"").append(userId).append(':');
+        for (Kind kind : kinds) {
+            etag.append(kind.name().charAt(0)).append(versions.getOrDefault(kind, 0L));
+        }
+        if (variant != null) etag.append('-').append(Integer.toHexString(variant.hashCode()));
+        return etag.append('"').toString();
+    }
+}
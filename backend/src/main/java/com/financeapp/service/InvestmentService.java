@@ -3,12 +3,19 @@ package com.financeapp.service;
 import com.financeapp.dto.InvestmentRequest;
 import com.financeapp.entity.Investment;
 import com.financeapp.entity.User;
+import com.financeapp.quote.Quote;
+import com.financeapp.quote.QuoteService;
 import com.financeapp.repository.InvestmentRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 @Service
 public class InvestmentService {
@@ -16,10 +23,32 @@ public class InvestmentService {
     @Autowired
     private InvestmentRepository investmentRepository;
 
+    @Autowired
+    private CollectionVersionService collectionVersionService;
+
+    @Autowired
+    private ChangeLogService changeLogService;
+
+    @Autowired
+    private QuoteService quoteService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    /**
+     * ETag of the user's investments. Price ticks rewrite current_price without bumping the
+     * collection version, so the newest price of the user's symbols is part of the tag.
+     */
+    public String etag(Long userId, String variant) {
+        String etag = collectionVersionService.etag(userId, variant, CollectionVersionService.Kind.INVESTMENTS);
+        return etag.substring(0, etag.length() - 1) + "p" + investmentRepository.findPriceVersionByUserId(userId) + '"';
+    }
+
     public List<Investment> getUserInvestments(User user) {
         return investmentRepository.findByUser(user);
     }
 
+    @Transactional
     public Investment createInvestment(InvestmentRequest request, User user) {
         Investment investment = new Investment(
                 request.getSymbol(),
@@ -31,19 +60,54 @@ public class InvestmentService {
         );
         investment.setCreatedAt(LocalDateTime.now());
         investment.setUpdatedAt(LocalDateTime.now());
-        return investmentRepository.save(investment);
+        Investment saved = investmentRepository.save(investment);
+        collectionVersionService.bump(user.getId(), CollectionVersionService.Kind.INVESTMENTS);
+        changeLogService.recordUpsert(user.getId(), ChangeLogService.Entity.INVESTMENT, saved.getId());
+        return saved;
     }
 
-    public Investment updateInvestment(Long id, InvestmentRequest request) {
-        Investment investment = investmentRepository.findById(id).orElse(null);
+    @Transactional
+    public Investment updateInvestment(Long userId, Long id, InvestmentRequest request) {
+        Investment investment = investmentRepository.findByIdAndUserId(id, userId).orElse(null);
         if (investment == null) return null;
 
         investment.setCurrentPrice(request.getCurrentPrice());
         investment.setUpdatedAt(LocalDateTime.now());
-        return investmentRepository.save(investment);
+        Investment saved = investmentRepository.save(investment);
+        collectionVersionService.bump(userId, CollectionVersionService.Kind.INVESTMENTS);
+        changeLogService.recordUpsert(userId, ChangeLogService.Entity.INVESTMENT, saved.getId());
+        return saved;
+    }
+
+    /**
+     * Sets currentPrice on the user's investments from the quote service and returns them.
+     * Quotes are fetched before the DB transaction starts, so a slow provider never holds a
+     * connection; investments without a quote keep their price.
+     */
+    public List<Investment> refreshPrices(User user) {
+        Map<String, Quote> quotes = quoteService.getQuotes(investmentRepository.findSymbolsByUser(user));
+        return transactionTemplate.execute(status -> {
+            List<Investment> investments = investmentRepository.findByUser(user);
+            boolean changed = false;
+            for (Investment investment : investments) {
+                Quote quote = quotes.get(QuoteService.normalize(investment.getSymbol()));
+                if (quote == null) continue;
+                BigDecimal price = quote.getPrice().setScale(2, RoundingMode.HALF_UP);
+                if (price.signum() <= 0 || price.compareTo(investment.getCurrentPrice()) == 0) continue;
+                investment.setCurrentPrice(price);
+                investment.setUpdatedAt(LocalDateTime.now());
+                changeLogService.recordUpsert(user.getId(), ChangeLogService.Entity.INVESTMENT, investment.getId());
+                changed = true;
+            }
+            if (changed) collectionVersionService.bump(user.getId(), CollectionVersionService.Kind.INVESTMENTS);
+            return investments;
+        });
     }
 
-    public void deleteInvestment(Long id) {
-        investmentRepository.deleteById(id);
+    @Transactional
+    public void deleteInvestment(Long userId, Long id) {
+        if (investmentRepository.deleteByIdAndUserId(id, userId) == 0) return;
+        collectionVersionService.bump(userId, CollectionVersionService.Kind.INVESTMENTS);
+        changeLogService.recordDelete(userId, ChangeLogService.Entity.INVESTMENT, id);
     }
 }
@@ -0,0 +1,206 @@
+package com.financeapp.service;
+
+import com.financeapp.entity.Category;
+import com.financeapp.entity.RecurringTransaction;
+import com.financeapp.entity.Transaction;
+import com.financeapp.entity.User;
+import com.financeapp.repository.RecurringTransactionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Materializes due occurrences of recurring transaction templates. Templates are read in
+ * id-ordered chunks, each chunk in its own DB transaction that inserts the occurrences
+ * (through the bulk import path) and advances the templates' watermarks together. Memory
+ * is bounded by the chunk size, and a crash between chunks loses nothing: the next run
+ * picks up from the committed watermarks. A chunk that fails is retried one template at a
+ * time, so a bad template is logged and skipped instead of blocking the ones after it.
+ */
+@Service
+public class RecurringTransactionScheduler {
+    private static final Logger logger = LoggerFactory.getLogger(RecurringTransactionScheduler.class);
+
+    // SKIP LOCKED lets several instances share a run without materializing a template twice
+    private static final String DUE_SQL =
+            "SELECT id, user_id, description, amount, category_id, transaction_type, frequency, interval_count, " +
+            "start_date, end_date, next_index FROM recurring_transactions " +
+            "WHERE next_due IS NOT NULL AND next_due <= ? AND id > ? %s ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED";
+
+    private static final String DUE_IDS_SQL =
+            "SELECT id FROM recurring_transactions WHERE next_due IS NOT NULL AND next_due <= ? AND id > ? " +
+            "ORDER BY id LIMIT ?";
+
+    private static final String ADVANCE_SQL =
+            "UPDATE recurring_transactions SET next_index = ?, next_due = ?, updated_at = now() WHERE id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private TransactionImportService transactionImportService;
+
+    @Autowired
+    private RecurringTransactionRepository recurringTransactionRepository;
+
+    @Value("${financeapp.recurring.chunkSize:1000}")
+    private int chunkSize;
+
+    // Caps catch-up for long-overdue templates; the rest follows on later runs
+    @Value("${financeapp.recurring.maxOccurrencesPerRun:400}")
+    private int maxOccurrencesPerRun;
+
+    private record Template(long id, long userId, String description, BigDecimal amount, int categoryId,
+                            Transaction.TransactionType type, RecurringTransaction.Frequency frequency,
+                            int interval, LocalDate startDate, LocalDate endDate, long nextIndex) {}
+
+    private record ChunkResult(int templates, int occurrences, long lastId) {}
+
+    // Catches up on occurrences missed while down, off the startup thread so a failure cannot stop the app
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        Thread catchUp = new Thread(() -> {
+            try {
+                materializeAll();
+            } catch (RuntimeException e) {
+                logger.error("Recurring transaction catch-up failed", e);
+            }
+        }, "recurring-catch-up");
+        catchUp.setDaemon(true);
+        catchUp.start();
+    }
+
+    @Scheduled(cron = "${financeapp.recurring.cron:0 15 0 * * *}")
+    public void materializeAll() {
+        LocalDate today = LocalDate.now();
+        long start = System.nanoTime();
+        long afterId = 0;
+        long templates = 0;
+        long occurrences = 0;
+        long failed = 0;
+        while (true) {
+            ChunkResult result;
+            try {
+                result = processChunk(today, afterId, null);
+            } catch (RuntimeException e) {
+                logger.warn("Recurring chunk after template {} failed, retrying its templates one by one", afterId, e);
+                List<Long> ids = jdbcTemplate.queryForList(DUE_IDS_SQL, Long.class, Date.valueOf(today), afterId, chunkSize);
+                if (ids.isEmpty()) break;
+                for (Long id : ids) {
+                    try {
+                        ChunkResult single = processChunk(today, afterId, id);
+                        templates += single.templates();
+                        occurrences += single.occurrences();
+                    } catch (RuntimeException single) {
+                        failed++;
+                        logger.error("Could not materialize recurring template {}", id, single);
+                    }
+                }
+                afterId = ids.get(ids.size() - 1);
+                continue;
+            }
+            if (result.templates() == 0) break;
+            templates += result.templates();
+            occurrences += result.occurrences();
+            afterId = result.lastId();
+        }
+        if (templates > 0 || failed > 0) {
+            logger.info("Materialized {} recurring occurrences from {} templates in {} ms ({} failed)",
+                    occurrences, templates, (System.nanoTime() - start) / 1_000_000, failed);
+        }
+    }
+
+    /**
+     * Saves a new template and materializes whatever is already due for it (start date today
+     * or earlier) in the same transaction, so a template is never stored without them.
+     */
+    @Transactional
+    public RecurringTransaction create(RecurringTransaction template) {
+        RecurringTransaction saved = recurringTransactionRepository.save(template);
+        materialize(saved);
+        return saved;
+    }
+
+    // Materializes what is due for one template and copies the new watermark onto it
+    private int materialize(RecurringTransaction template) {
+        int occurrences = processChunk(LocalDate.now(), 0, template.getId()).occurrences();
+        jdbcTemplate.query("SELECT next_index, next_due FROM recurring_transactions WHERE id = ?", rs -> {
+            template.setNextIndex(rs.getLong("next_index"));
+            template.setNextDue(rs.getDate("next_due") != null ? rs.getDate("next_due").toLocalDate() : null);
+        }, template.getId());
+        return occurrences;
+    }
+
+    private ChunkResult processChunk(LocalDate today, long afterId, Long onlyId) {
+        return transactionTemplate.execute(status -> {
+            List<Object> args = new ArrayList<>(List.of(Date.valueOf(today), afterId));
+            if (onlyId != null) args.add(onlyId);
+            args.add(chunkSize);
+            List<Template> due = jdbcTemplate.query(
+                    String.format(DUE_SQL, onlyId != null ? "AND id = ?" : ""),
+                    (rs, i) -> new Template(
+                            rs.getLong("id"),
+                            rs.getLong("user_id"),
+                            rs.getString("description"),
+                            rs.getBigDecimal("amount"),
+                            rs.getInt("category_id"),
+                            Transaction.TransactionType.valueOf(rs.getString("transaction_type")),
+                            RecurringTransaction.Frequency.valueOf(rs.getString("frequency")),
+                            rs.getInt("interval_count"),
+                            rs.getDate("start_date").toLocalDate(),
+                            rs.getDate("end_date") != null ? rs.getDate("end_date").toLocalDate() : null,
+                            rs.getLong("next_index")),
+                    args.toArray());
+            if (due.isEmpty()) return new ChunkResult(0, 0, afterId);
+
+            Map<Long, User> users = new HashMap<>();
+            List<Transaction> occurrences = new ArrayList<>();
+            List<Object[]> watermarks = new ArrayList<>(due.size());
+            for (Template t : due) {
+                User user = users.computeIfAbsent(t.userId(), RecurringTransactionScheduler::userReference);
+                Category category = new Category(t.categoryId(), null);
+                long index = t.nextIndex();
+                LocalDate date = t.frequency().occurrence(t.startDate(), t.interval(), index);
+                int generated = 0;
+                while (!date.isAfter(today) && (t.endDate() == null || !date.isAfter(t.endDate()))
+                        && generated < maxOccurrencesPerRun) {
+                    occurrences.add(new Transaction(t.description(), t.amount(), category, t.type(), date, user));
+                    generated++;
+                    date = t.frequency().occurrence(t.startDate(), t.interval(), ++index);
+                }
+                LocalDate nextDue = t.endDate() != null && date.isAfter(t.endDate()) ? null : date;
+                watermarks.add(new Object[]{index, nextDue != null ? Date.valueOf(nextDue) : null, t.id()});
+            }
+
+            transactionImportService.insertAll(occurrences);
+            jdbcTemplate.batchUpdate(ADVANCE_SQL, watermarks);
+            return new ChunkResult(due.size(), occurrences.size(), due.get(due.size() - 1).id());
+        });
+    }
+
+    // Only the id is read on the insert path, so no need to load the user
+    private static User userReference(Long id) {
+        User user = new User();
+        user.setId(id);
+        return user;
+    }
+}
@@ -0,0 +1,63 @@
+package com.financeapp.service;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Local directory holding finished report files. Files are written under a temporary name
+ * and moved into place, so a half-written report is never visible.
+ */
+@Component
+public class ReportFileStore {
+
+    public interface Content {
+        void writeTo(Writer writer) throws IOException;
+    }
+
+    @Value("${financeapp.reports.dir:${java.io.tmpdir}/financeapp-reports}")
+    private String directory;
+
+    private Path root;
+
+    @PostConstruct
+    public void init() throws IOException {
+        root = Paths.get(directory).toAbsolutePath().normalize();
+        Files.createDirectories(root);
+    }
+
+    /**
+     * Writes a report file and returns its name relative to the store.
+     */
+    public String write(String name, Content content) throws IOException {
+        Path target = resolve(name);
+        Path partial = target.resolveSibling(name + ".part");
+        try (Writer writer = new BufferedWriter(Files.newBufferedWriter(partial, StandardCharsets.UTF_8), 64 * 1024)) {
+            content.writeTo(writer);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(partial);
+            throw e;
+        }
+        Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return name;
+    }
+
+    public Path resolve(String name) {
+        Path path = root.resolve(name).normalize();
+        if (!path.getParent().equals(root)) throw new IllegalArgumentException("Invalid report file name: " + name);
+        return path;
+    }
+
+    public void delete(String name) throws IOException {
+        Files.deleteIfExists(resolve(name));
+    }
+}
@@ -0,0 +1,128 @@
+package com.financeapp.service;
+
+import com.financeapp.dto.TransactionResponse;
+import com.financeapp.entity.CategoryRollup;
+import com.financeapp.entity.ReportJob;
+import com.financeapp.entity.Transaction;
+import com.financeapp.money.Money;
+import com.financeapp.money.MoneySum;
+import com.financeapp.repository.CategoryRollupRepository;
+import com.financeapp.repository.TransactionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Writes report content. Statements stream {@link TransactionResponse} projections from a
+ * database cursor, so memory stays bounded by the fetch size whatever the date range;
+ * category breakdowns read the monthly rollups instead of transactions.
+ */
+@Component
+public class ReportGenerator {
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private CategoryRollupRepository categoryRollupRepository;
+
+    @Transactional(readOnly = true)
+    public void generate(ReportJob job, Writer writer) throws IOException {
+        switch (job.getType()) {
+            case MONTHLY_STATEMENT:
+                writeStatement(job, writer);
+                break;
+            case CATEGORY_BREAKDOWN:
+                writeCategoryBreakdown(job, writer);
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported report type: " + job.getType());
+        }
+    }
+
+    private void writeStatement(ReportJob job, Writer writer) throws IOException {
+        Long userId = job.getUser().getId();
+        Money opening = Money.of(transactionRepository.sumAmountBefore(userId, Transaction.TransactionType.INCOME, job.getFromDate()))
+                .minus(Money.of(transactionRepository.sumAmountBefore(userId, Transaction.TransactionType.EXPENSE, job.getFromDate())));
+
+        writer.write("Statement," + job.getFromDate() + "," + job.getToDate() + "\n");
+        writer.write("Opening balance," + opening + "\n");
+        writer.write("date,description,category,type,amount,balance\n");
+
+        MoneySum balance = new MoneySum().add(opening);
+        MoneySum income = new MoneySum();
+        MoneySum expense = new MoneySum();
+        try (Stream<TransactionResponse> rows = transactionRepository.streamResponsesByUserIdBetween(
+                userId, job.getFromDate(), job.getToDate())) {
+            Iterator<TransactionResponse> it = rows.iterator();
+            while (it.hasNext()) {
+                TransactionResponse t = it.next();
+                Money amount = Money.of(t.getAmount());
+                boolean isIncome = Transaction.TransactionType.INCOME.name().equals(t.getType());
+                if (isIncome) {
+                    income.add(amount);
+                    balance.add(amount);
+                } else {
+                    expense.add(amount);
+                    balance.subtract(amount);
+                }
+                writer.write(t.getTransactionDate().toString());
+                writer.write(',');
+                writer.write(TransactionExportService.csvField(t.getDescription()));
+                writer.write(',');
+                writer.write(TransactionExportService.csvField(t.getCategory()));
+                writer.write(',');
+                writer.write(t.getType());
+                writer.write(',');
+                writer.write(amount.toString());
+                writer.write(',');
+                writer.write(balance.toString());
+                writer.write('\n');
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        writer.write("Total income," + income + "\n");
+        writer.write("Total expense," + expense + "\n");
+        writer.write("Closing balance," + balance + "\n");
+    }
+
+    // One row per (category, type), one column per month overlapping the range
+    private void writeCategoryBreakdown(ReportJob job, Writer writer) throws IOException {
+        YearMonth first = YearMonth.from(job.getFromDate());
+        YearMonth last = YearMonth.from(job.getToDate());
+        int months = (int) first.until(last, ChronoUnit.MONTHS) + 1;
+
+        Map<String, long[]> rows = new LinkedHashMap<>();
+        for (CategoryRollup r : categoryRollupRepository.findMonthlyByUser(job.getUser(), first.atDay(1), last.atDay(1))) {
+            String key = TransactionExportService.csvField(r.getCategory().getName()) + "," + r.getType().name();
+            long[] totals = rows.computeIfAbsent(key, k -> new long[months]);
+            int m = (int) first.until(YearMonth.from(r.getMonthStart()), ChronoUnit.MONTHS);
+            totals[m] = Math.addExact(totals[m], r.getTotalAmount().minorUnits());
+        }
+
+        writer.write("category,type");
+        for (int m = 0; m < months; m++) writer.write("," + first.plusMonths(m));
+        writer.write(",total\n");
+        for (Map.Entry<String, long[]> row : rows.entrySet()) {
+            writer.write(row.getKey());
+            long total = 0;
+            for (long cents : row.getValue()) {
+                writer.write("," + Money.ofMinor(cents));
+                total = Math.addExact(total, cents);
+            }
+            writer.write("," + Money.ofMinor(total) + "\n");
+        }
+    }
+}
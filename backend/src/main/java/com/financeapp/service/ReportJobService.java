@@ -0,0 +1,175 @@
+package com.financeapp.service;
+
+import com.financeapp.entity.ReportJob;
+import com.financeapp.entity.User;
+import com.financeapp.repository.ReportJobRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs report jobs on a small bounded worker pool instead of request threads. Job state
+ * lives in report_jobs, so status survives restarts: jobs that were queued or running when
+ * the application stopped are picked up again at startup. Each job records the node that
+ * runs it, since results are written to a node-local directory, and a node only resumes and
+ * cleans up its own jobs; the node name must therefore be unique and stable across restarts.
+ */
+@Service
+public class ReportJobService {
+    private static final Logger logger = LoggerFactory.getLogger(ReportJobService.class);
+
+    private static final Set<ReportJob.Status> IN_FLIGHT = EnumSet.of(ReportJob.Status.QUEUED, ReportJob.Status.RUNNING);
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    @Autowired
+    private ReportJobRepository reportJobRepository;
+
+    @Autowired
+    private ReportGenerator reportGenerator;
+
+    @Autowired
+    private ReportFileStore fileStore;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${financeapp.reports.workers:2}")
+    private int workers;
+
+    @Value("${financeapp.reports.queueCapacity:100}")
+    private int queueCapacity;
+
+    @Value("${financeapp.reports.retentionHours:24}")
+    private int retentionHours;
+
+    @Value("${financeapp.reports.node:${HOSTNAME:local}}")
+    private String node;
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void start() {
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = new ThreadPoolExecutor(workers, workers, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "report-worker-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Returns the in-flight job for an identical request if there is one, otherwise queues a new job.
+     * A job that could not be queued because the pool is saturated comes back FAILED.
+     */
+    public ReportJob submit(User user, ReportJob.ReportType type, ReportJob.ReportFormat format,
+                            LocalDate from, LocalDate to) {
+        String key = ReportJob.requestKey(user.getId(), type, format, from, to);
+        Optional<ReportJob> existing = reportJobRepository.findFirstByRequestKeyAndStatusIn(key, IN_FLIGHT);
+        if (existing.isPresent()) return existing.get();
+
+        ReportJob job = new ReportJob(user, type, format, from, to);
+        job.setNode(node);
+        try {
+            job = reportJobRepository.saveAndFlush(job);
+        } catch (DataIntegrityViolationException e) {
+            // Lost the race with an identical request; share its job
+            return reportJobRepository.findFirstByRequestKeyAndStatusIn(key, IN_FLIGHT).orElseThrow(() -> e);
+        }
+        dispatch(job);
+        return job;
+    }
+
+    private void dispatch(ReportJob job) {
+        Long id = job.getId();
+        try {
+            executor.execute(() -> run(id));
+        } catch (RejectedExecutionException e) {
+            logger.warn("Report queue full, rejecting job {}", id);
+            job.setStatus(ReportJob.Status.FAILED);
+            job.setError("Report queue is full, try again later");
+            job.setFinishedAt(LocalDateTime.now());
+            reportJobRepository.save(job);
+        }
+    }
+
+    private void run(Long id) {
+        Integer claimed = transactionTemplate.execute(status -> reportJobRepository.markRunning(id, LocalDateTime.now()));
+        if (claimed == null || claimed == 0) return;
+        ReportJob job = reportJobRepository.findById(id).orElse(null);
+        if (job == null) return;
+
+        long start = System.nanoTime();
+        try {
+            String name = "report-" + id + "." + job.getFormat().getExtension();
+            fileStore.write(name, writer -> reportGenerator.generate(job, writer));
+            job.setResultPath(name);
+            job.setResultBytes(Files.size(fileStore.resolve(name)));
+            job.setStatus(ReportJob.Status.SUCCEEDED);
+            logger.info("Report job {} ({}) finished in {} ms", id, job.getType(), (System.nanoTime() - start) / 1_000_000);
+        } catch (Exception e) {
+            logger.error("Report job {} failed", id, e);
+            String message = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            job.setError(message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message);
+            job.setStatus(ReportJob.Status.FAILED);
+        }
+        job.setFinishedAt(LocalDateTime.now());
+        reportJobRepository.save(job);
+    }
+
+    // This node's jobs interrupted by its shutdown are queued again; other nodes' jobs may be running right now
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterrupted() {
+        transactionTemplate.execute(status -> reportJobRepository.claimUnowned(node, IN_FLIGHT));
+        for (ReportJob job : reportJobRepository.findByStatusInAndNode(IN_FLIGHT, node)) {
+            if (job.getStatus() == ReportJob.Status.RUNNING) {
+                job.setStatus(ReportJob.Status.QUEUED);
+                job.setStartedAt(null);
+                job = reportJobRepository.save(job);
+            }
+            dispatch(job);
+        }
+    }
+
+    @Scheduled(cron = "${financeapp.reports.cleanupCron:0 0 * * * *}")
+    public void deleteExpired() {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(retentionHours);
+        // Other nodes' results are in their own directories, so they delete those jobs themselves
+        for (ReportJob job : reportJobRepository.findFinishedBefore(cutoff, node)) {
+            try {
+                if (job.getResultPath() != null) fileStore.delete(job.getResultPath());
+                reportJobRepository.delete(job);
+            } catch (IOException e) {
+                logger.warn("Could not delete report file for job {}: {}", job.getId(), e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.financeapp.service;
+
+import com.financeapp.dto.BudgetResponse;
+import com.financeapp.dto.InvestmentResponse;
+import com.financeapp.dto.SyncResponse;
+import com.financeapp.entity.User;
+import com.financeapp.quote.Quote;
+import com.financeapp.repository.BudgetRepository;
+import com.financeapp.repository.InvestmentRepository;
+import com.financeapp.repository.TransactionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Serves GET /api/sync from the change log. Each call reads at most maxChanges log rows
+ * from the user's (user_id, seq) index and loads only the entities they name, so its cost
+ * follows the number of changes rather than the size of the account.
+ */
+@Service
+public class SyncService {
+
+    @Autowired
+    private ChangeLogService changeLogService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private InvestmentRepository investmentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Position in the change log and in the symbol price feed, written as "changes.prices".
+     */
+    public record SyncToken(long changes, long prices) {
+        @Override
+        public String toString() {
+            return changes + "." + prices;
+        }
+    }
+
+    @Value("${financeapp.sync.maxChanges:1000}")
+    private int maxChanges;
+
+    /**
+     * @param token the token of the previous response, or null on first sync
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    @Transactional(readOnly = true)
+    public SyncResponse changesSince(User user, String token) {
+        return changesSince(user.getId(), parseToken(token));
+    }
+
+    @Transactional(readOnly = true)
+    public SyncResponse changesSince(Long userId, SyncToken since) {
+        SyncResponse response = new SyncResponse();
+        if (since == null || since.changes() < changeLogService.floor()) {
+            response.setFullResync(true);
+            response.setToken(head(userId).toString());
+            return response;
+        }
+
+        List<ChangeLogService.Change> changes = changeLogService.changesSince(userId, since.changes(), maxChanges + 1);
+        if (changes.size() > maxChanges) {
+            changes = changes.subList(0, maxChanges);
+            response.setHasMore(true);
+        }
+        // A rename changes the category name on rows that are not in the log, so reload them all
+        if (changes.stream().anyMatch(c -> c.entity() == ChangeLogService.Entity.CATEGORY)) {
+            response.setHasMore(false);
+            response.setFullResync(true);
+            response.setToken(head(userId).toString());
+            return response;
+        }
+
+        // One row per held symbol at most, so prices need no paging
+        long[] priceSeq = {since.prices()};
+        response.setPrices(jdbcTemplate.query(
+                "SELECT sp.symbol, sp.price, sp.as_of, sp.seq FROM symbol_prices sp WHERE sp.seq > ? " +
+                        "AND sp.symbol IN (SELECT upper(i.symbol) FROM investments i WHERE i.user_id = ?)",
+                (rs, i) -> {
+                    priceSeq[0] = Math.max(priceSeq[0], rs.getLong(4));
+                    return new Quote(rs.getString(1), rs.getBigDecimal(2), rs.getTimestamp(3).toInstant());
+                },
+                since.prices(), userId));
+        response.setToken(new SyncToken(changes.isEmpty() ? since.changes() : changes.get(changes.size() - 1).seq(),
+                priceSeq[0]).toString());
+
+        // Only the latest change to each entity matters
+        Map<ChangeLogService.Entity, Map<Long, Boolean>> latest = new EnumMap<>(ChangeLogService.Entity.class);
+        for (ChangeLogService.Change change : changes) {
+            latest.computeIfAbsent(change.entity(), e -> new LinkedHashMap<>()).put(change.entityId(), change.deleted());
+        }
+
+        Map<Long, Boolean> transactions = latest.getOrDefault(ChangeLogService.Entity.TRANSACTION, Map.of());
+        Map<Long, Boolean> budgets = latest.getOrDefault(ChangeLogService.Entity.BUDGET, Map.of());
+        Map<Long, Boolean> investments = latest.getOrDefault(ChangeLogService.Entity.INVESTMENT, Map.of());
+
+        // An upserted entity that is gone by now has a tombstone further on in the log
+        List<Long> ids = upserted(transactions);
+        if (!ids.isEmpty()) {
+            response.setTransactions(transactionRepository.findResponsesByUserIdAndIdIn(userId, ids));
+        }
+        ids = upserted(budgets);
+        if (!ids.isEmpty()) {
+            response.setBudgets(budgetRepository.findByUserIdAndIdIn(userId, ids).stream()
+                    .map(BudgetResponse::from)
+                    .collect(Collectors.toList()));
+        }
+        ids = upserted(investments);
+        if (!ids.isEmpty()) {
+            response.setInvestments(investmentRepository.findByUserIdAndIdIn(userId, ids).stream()
+                    .map(InvestmentResponse::from)
+                    .collect(Collectors.toList()));
+        }
+
+        response.getDeleted().setTransactions(deleted(transactions));
+        response.getDeleted().setBudgets(deleted(budgets));
+        response.getDeleted().setInvestments(deleted(investments));
+        return response;
+    }
+
+    private static List<Long> upserted(Map<Long, Boolean> changes) {
+        List<Long> ids = new ArrayList<>();
+        changes.forEach((id, deleted) -> { if (!deleted) ids.add(id); });
+        return ids;
+    }
+
+    private static List<Long> deleted(Map<Long, Boolean> changes) {
+        List<Long> ids = new ArrayList<>();
+        changes.forEach((id, deleted) -> { if (deleted) ids.add(id); });
+        return ids;
+    }
+
+    // Newest token of this user; nothing committed so far lies beyond it
+    public SyncToken head(Long userId) {
+        return new SyncToken(changeLogService.head(userId), priceHead());
+    }
+
+    // Newest symbol price across all users
+    public long priceHead() {
+        Long prices = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(seq), 0) FROM symbol_prices", Long.class);
+        return prices == null ? 0 : prices;
+    }
+
+    public static SyncToken parseToken(String token) {
+        if (token == null || token.isBlank()) return null;
+        String[] parts = token.trim().split("\\.", -1);
+        try {
+            // Tokens issued before prices were synced carry only the change log position
+            if (parts.length > 2) throw new NumberFormatException();
+            SyncToken parsed = new SyncToken(Long.parseLong(parts[0]), parts.length == 2 ? Long.parseLong(parts[1]) : 0);
+            if (parsed.changes() < 0 || parsed.prices() < 0) throw new NumberFormatException();
+            return parsed;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid sync token");
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.financeapp.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor for transaction pages. Points at the last (transactionDate, id)
+ * returned so the next page starts strictly after it.
+ */
+public final class TransactionCursor {
+
+    private final LocalDate transactionDate;
+    private final Long id;
+
+    public TransactionCursor(LocalDate transactionDate, Long id) {
+        this.transactionDate = transactionDate;
+        this.id = id;
+    }
+
+    public LocalDate getTransactionDate() { return transactionDate; }
+    public Long getId() { return id; }
+
+    public String encode() {
+        String raw = transactionDate + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Throws IllegalArgumentException for anything that was not produced by encode()
+    public static TransactionCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.indexOf(':');
+            if (sep < 0) throw new IllegalArgumentException("Malformed cursor");
+            return new TransactionCursor(LocalDate.parse(raw.substring(0, sep)), Long.valueOf(raw.substring(sep + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+    }
+}
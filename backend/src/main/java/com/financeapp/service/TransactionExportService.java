@@ -0,0 +1,114 @@
+package com.financeapp.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.financeapp.dto.TransactionResponse;
+import com.financeapp.repository.TransactionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Streams a user's transaction history straight from a database cursor to the client.
+ * Rows are selected as {@link TransactionResponse} projections, so nothing accumulates in
+ * the persistence context and memory stays bounded by the JDBC fetch size.
+ */
+@Service
+public class TransactionExportService {
+
+    public enum Format {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() { return contentType; }
+        public String getExtension() { return extension; }
+
+        public static Format fromString(String key) {
+            try {
+                return Format.valueOf(key.toUpperCase());
+            } catch (Exception e) {
+                return null;
+            }
+        }
+    }
+
+    private static final String CSV_HEADER = "id,description,amount,category,type,transactionDate";
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Transactional(readOnly = true)
+    public void export(Long userId, Format format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        try (Stream<TransactionResponse> rows = transactionRepository.streamResponsesByUserId(userId)) {
+            if (format == Format.CSV) {
+                writeCsv(rows, writer);
+            } else {
+                writeNdjson(rows, writer);
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+    private void writeCsv(Stream<TransactionResponse> rows, Writer writer) throws IOException {
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        Iterator<TransactionResponse> it = rows.iterator();
+        while (it.hasNext()) {
+            TransactionResponse t = it.next();
+            writer.write(String.valueOf(t.getId()));
+            writer.write(',');
+            writer.write(csvField(t.getDescription()));
+            writer.write(',');
+            writer.write(t.getAmount() == null ? "" : t.getAmount().toPlainString());
+            writer.write(',');
+            writer.write(csvField(t.getCategory()));
+            writer.write(',');
+            writer.write(t.getType());
+            writer.write(',');
+            writer.write(t.getTransactionDate() == null ? "" : t.getTransactionDate().toString());
+            writer.write('\n');
+        }
+    }
+
+    private void writeNdjson(Stream<TransactionResponse> rows, Writer writer) throws IOException {
+        ObjectWriter rowWriter = objectMapper.writerFor(TransactionResponse.class);
+        Iterator<TransactionResponse> it = rows.iterator();
+        while (it.hasNext()) {
+            writer.write(rowWriter.writeValueAsString(it.next()));
+            writer.write('\n');
+        }
+    }
+
+    // RFC 4180 quoting: wrap in quotes when needed and double any embedded quotes
+    static String csvField(String value) {
+        if (value == null) return "";
+        boolean needsQuotes = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!needsQuotes) return value;
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
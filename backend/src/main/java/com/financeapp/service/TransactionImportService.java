@@ -0,0 +1,348 @@
+package com.financeapp.service;
+
+import com.financeapp.dto.TransactionImportResponse;
+import com.financeapp.dto.TransactionImportResponse.RowError;
+import com.financeapp.dto.TransactionRequest;
+import com.financeapp.entity.Category;
+import com.financeapp.entity.Transaction;
+import com.financeapp.entity.User;
+import com.financeapp.money.Money;
+import com.financeapp.money.MoneySum;
+import com.financeapp.event.TransactionsChangedEvent;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk import of transactions. Rows are validated one by one and the valid ones are
+ * written with JDBC batch inserts instead of one save() round trip per row.
+ */
+@Service
+public class TransactionImportService {
+    private static final Logger logger = LoggerFactory.getLogger(TransactionImportService.class);
+
+    static final int BATCH_SIZE = 1000;
+
+    // ids are drawn from the sequence up front so rows can still be sent in multi-row batches
+    private static final String INSERT_SQL =
+            "INSERT INTO transactions (id, description, amount, category_id, transaction_type, transaction_date, created_at, user_id) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String RESERVE_IDS_SQL = "SELECT nextval('transactions_pk_seq') FROM generate_series(1, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CategoryDictionary categoryDictionary;
+
+    @Autowired
+    private CategoryRollupService categoryRollupService;
+
+    @Autowired
+    private BudgetSpendingService budgetSpendingService;
+
+    @Autowired
+    private ChangeLogService changeLogService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${financeapp.import.maxRows:50000}")
+    private int maxRows;
+
+    /**
+     * Imports a JSON array of transactions, binding one element at a time so a body over
+     * maxRows is rejected without reading the rest of it.
+     */
+    @Transactional
+    public TransactionImportResponse importJson(User user, InputStream in) throws IOException {
+        List<RowError> errors = new ArrayList<>();
+        List<TransactionRequest> rows = parseJson(in, errors);
+        return importRows(user, rows, errors);
+    }
+
+    @Transactional
+    public TransactionImportResponse importCsv(User user, Reader reader) throws IOException {
+        List<RowError> errors = new ArrayList<>();
+        List<TransactionRequest> rows = parseCsv(reader, errors);
+        return importRows(user, rows, errors);
+    }
+
+    private TransactionImportResponse importRows(User user, List<TransactionRequest> rows, List<RowError> errors) {
+        long start = System.nanoTime();
+        if (rows.size() > maxRows) {
+            // The parsers stop reading at maxRows + 1
+            errors.clear();
+            errors.add(new RowError(0, "Too many rows (max " + maxRows + ")"));
+            return new TransactionImportResponse(rows.size(), 0, 0, errors);
+        }
+
+        LocalDate today = LocalDate.now();
+        // Each distinct category name is resolved to its id once per import
+        Map<String, Category> categories = new HashMap<>();
+        List<Transaction> valid = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            TransactionRequest row = rows.get(i);
+            if (row == null) continue; // already reported by the parser
+
+            String problem = validate(row);
+            if (problem != null) {
+                errors.add(new RowError(i + 1, problem));
+                continue;
+            }
+            valid.add(new Transaction(
+                    row.getDescription(),
+                    row.getAmount(),
+                    categories.computeIfAbsent(row.getCategory(), name -> categoryDictionary.resolve(user.getId(), name)),
+                    row.getTransactionTypeEnum(),
+                    row.getTransactionDate() != null ? row.getTransactionDate() : today,
+                    user
+            ));
+        }
+
+        insertAll(valid);
+
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        errors.sort((a, b) -> Integer.compare(a.getRow(), b.getRow()));
+        TransactionImportResponse response = new TransactionImportResponse(rows.size(), valid.size(), elapsedMs, errors);
+        logger.info("Imported {} of {} transactions for user {} in {} ms ({} rows/s)",
+                valid.size(), rows.size(), user.getId(), elapsedMs, Math.round(response.getRowsPerSecond()));
+        return response;
+    }
+
+    /**
+     * Batch-inserts validated transactions, possibly of several users, and applies their rollup
+     * and budget deltas in the caller's transaction. Shared by the importer and the recurring
+     * transaction scheduler.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void insertAll(List<Transaction> transactions) {
+        if (transactions.isEmpty()) return;
+        insertBatched(transactions);
+        Map<Long, List<Transaction>> byUser = new LinkedHashMap<>();
+        for (Transaction t : transactions) {
+            byUser.computeIfAbsent(t.getUser().getId(), id -> new ArrayList<>()).add(t);
+        }
+        byUser.forEach((userId, rows) -> {
+            applyRollups(userId, rows);
+            applyBudgets(userId, rows);
+            changeLogService.recordUpserts(userId, ChangeLogService.Entity.TRANSACTION,
+                    rows.stream().map(Transaction::getId).collect(Collectors.toList()));
+            eventPublisher.publishEvent(new TransactionsChangedEvent(userId));
+        });
+    }
+
+    private void insertBatched(List<Transaction> transactions) {
+        List<Long> ids = jdbcTemplate.queryForList(RESERVE_IDS_SQL, Long.class, transactions.size());
+        for (int i = 0; i < transactions.size(); i++) {
+            transactions.get(i).setId(ids.get(i));
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, transactions, BATCH_SIZE, (ps, t) -> {
+            ps.setLong(1, t.getId());
+            ps.setString(2, t.getDescription());
+            ps.setBigDecimal(3, t.getAmount());
+            ps.setInt(4, t.getCategory().getId());
+            ps.setString(5, t.getType().name());
+            ps.setDate(6, Date.valueOf(t.getTransactionDate()));
+            ps.setTimestamp(7, Timestamp.valueOf(t.getCreatedAt()));
+            ps.setLong(8, t.getUser().getId());
+        });
+    }
+
+    // One upsert per (month, category, type) group rather than one per row
+    private void applyRollups(Long userId, List<Transaction> transactions) {
+        Map<RollupKey, MoneySum> totals = new LinkedHashMap<>();
+        Map<RollupKey, Long> counts = new HashMap<>();
+        for (Transaction t : transactions) {
+            RollupKey key = new RollupKey(CategoryRollupService.monthStart(t.getTransactionDate()), t.getCategory().getId(), t.getType());
+            totals.computeIfAbsent(key, k -> new MoneySum()).add(Money.of(t.getAmount()));
+            counts.merge(key, 1L, Long::sum);
+        }
+        totals.forEach((key, total) -> categoryRollupService.applyDelta(
+                userId, key.monthStart(), key.categoryId(), key.type(), total.toMoney(), counts.get(key)));
+    }
+
+    // Only expenses recent enough to fall in a current budget window can move spentAmount
+    private void applyBudgets(Long userId, List<Transaction> transactions) {
+        LocalDate earliest = BudgetSpendingService.earliestCurrentWindowStart(LocalDate.now());
+        Map<BudgetKey, MoneySum> totals = new LinkedHashMap<>();
+        for (Transaction t : transactions) {
+            if (t.getType() == Transaction.TransactionType.EXPENSE && !t.getTransactionDate().isBefore(earliest)) {
+                totals.computeIfAbsent(new BudgetKey(t.getCategory().getId(), t.getTransactionDate()), k -> new MoneySum())
+                        .add(Money.of(t.getAmount()));
+            }
+        }
+        totals.forEach((key, total) -> budgetSpendingService.applyExpense(userId, key.categoryId(), key.date(), total.toMoney().toBigDecimal()));
+    }
+
+    private record BudgetKey(Integer categoryId, LocalDate date) {}
+
+    private record RollupKey(LocalDate monthStart, Integer categoryId, Transaction.TransactionType type) {}
+
+    private String validate(TransactionRequest row) {
+        List<String> problems = validator.validate(row).stream()
+                .map(v -> v.getPropertyPath() + " " + v.getMessage())
+                .sorted()
+                .collect(Collectors.toList());
+        if (row.getType() != null && !row.getType().isBlank() && row.getTransactionTypeEnum() == null) {
+            problems.add("type must be INCOME or EXPENSE");
+        }
+        return problems.isEmpty() ? null : String.join("; ", problems);
+    }
+
+    /**
+     * Parses CSV with a header row naming the columns (description, amount, category,
+     * type, transactionDate; any other column such as id is ignored). Rows that cannot be
+     * parsed are recorded in errors and returned as null placeholders so row numbers line up.
+     * Reading stops after maxRows + 1 rows.
+     */
+    List<TransactionRequest> parseCsv(Reader reader, List<RowError> errors) throws IOException {
+        BufferedReader in = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+        List<TransactionRequest> rows = new ArrayList<>();
+
+        List<String> header = readRecord(in);
+        if (header == null) return rows;
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (String required : List.of("description", "amount", "category", "type")) {
+            if (!columns.containsKey(required)) {
+                errors.add(new RowError(0, "Missing column: " + required));
+                return rows;
+            }
+        }
+
+        List<String> record;
+        while (rows.size() <= maxRows && (record = readRecord(in)) != null) {
+            if (record.size() == 1 && record.get(0).isBlank()) continue;
+            int rowNumber = rows.size() + 1;
+            try {
+                TransactionRequest row = new TransactionRequest();
+                row.setDescription(column(record, columns, "description"));
+                row.setCategory(column(record, columns, "category"));
+                row.setType(column(record, columns, "type"));
+                String amount = column(record, columns, "amount");
+                row.setAmount(amount == null || amount.isBlank() ? null : new BigDecimal(amount.trim()));
+                String date = column(record, columns, "transactiondate");
+                row.setTransactionDate(date == null || date.isBlank() ? null : LocalDate.parse(date.trim()));
+                rows.add(row);
+            } catch (RuntimeException e) {
+                errors.add(new RowError(rowNumber, "Unparseable row: " + e.getMessage()));
+                rows.add(null);
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Reads the elements of a JSON array one by one. An element that does not bind is
+     * recorded in errors and returned as a null placeholder; malformed JSON ends the array.
+     * Reading stops after maxRows + 1 elements.
+     */
+    List<TransactionRequest> parseJson(InputStream in, List<RowError> errors) throws IOException {
+        List<TransactionRequest> rows = new ArrayList<>();
+        try (JsonParser parser = objectMapper.getFactory().createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                errors.add(new RowError(0, "Expected a JSON array"));
+                return rows;
+            }
+            while (rows.size() <= maxRows && parser.nextToken() != JsonToken.END_ARRAY) {
+                JsonNode element = parser.readValueAsTree();
+                if (element == null || !element.isObject()) {
+                    errors.add(new RowError(rows.size() + 1, "Row must be a JSON object"));
+                    rows.add(null);
+                    continue;
+                }
+                try {
+                    rows.add(objectMapper.treeToValue(element, TransactionRequest.class));
+                } catch (JsonProcessingException e) {
+                    errors.add(new RowError(rows.size() + 1, "Unparseable row: " + e.getOriginalMessage()));
+                    rows.add(null);
+                }
+            }
+        } catch (JsonProcessingException e) {
+            errors.add(new RowError(rows.size() + 1, "Malformed JSON: " + e.getOriginalMessage()));
+        }
+        return rows;
+    }
+
+    private static String column(List<String> record, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        return index == null || index >= record.size() ? null : record.get(index);
+    }
+
+    // Reads one RFC 4180 record, honouring quoted fields that contain commas or newlines
+    private static List<String> readRecord(BufferedReader in) throws IOException {
+        int c = in.read();
+        if (c == -1) return null;
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (c != -1) {
+            char ch = (char) c;
+            if (quoted) {
+                if (ch == '"') {
+                    in.mark(1);
+                    int peek = in.read();
+                    if (peek == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        if (peek != -1) in.reset();
+                    }
+                } else {
+                    field.append(ch);
+                }
+            } else if (ch == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (ch == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (ch == '\n') {
+                break;
+            } else if (ch != '\r') {
+                field.append(ch);
+            }
+            c = in.read();
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,133 @@
+package com.financeapp.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Manages the monthly partitions of the transactions table (see V2__partition_transactions.sql).
+ * Partitions are created a few months ahead so inserts never land in the default partition,
+ * and history past the retention window is removed by dropping whole partitions.
+ */
+@Service
+public class TransactionPartitionService {
+    private static final Logger logger = LoggerFactory.getLogger(TransactionPartitionService.class);
+
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private CollectionVersionService collectionVersionService;
+
+    @Autowired
+    private ChangeLogService changeLogService;
+
+    @Value("${financeapp.partitions.monthsAhead:3}")
+    private int monthsAhead;
+
+    @Value("${financeapp.partitions.retentionMonths:0}")
+    private int retentionMonths;
+
+    public static String partitionName(YearMonth month) {
+        return "transactions_" + month.format(SUFFIX);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        maintain();
+    }
+
+    @Scheduled(cron = "${financeapp.partitions.cron:0 0 1 * * *}")
+    public void maintain() {
+        YearMonth current = YearMonth.now();
+        for (int i = 0; i <= monthsAhead; i++) {
+            createPartition(current.plusMonths(i));
+        }
+        if (retentionMonths > 0) {
+            dropPartitionsBefore(current.minusMonths(retentionMonths));
+        }
+    }
+
+    /**
+     * Creates the month's partition unless it exists. Rows of that month already sitting in
+     * the default partition (dates that were outside the managed range when inserted) would
+     * make a plain CREATE fail, so in that case the default partition is detached, the new
+     * partition created, the month's rows moved into it and the default reattached, all in
+     * one transaction.
+     */
+    public void createPartition(YearMonth month) {
+        String name = partitionName(month);
+        LocalDate from = month.atDay(1);
+        LocalDate to = month.plusMonths(1).atDay(1);
+        String create = String.format("CREATE TABLE %s PARTITION OF transactions FOR VALUES FROM ('%s') TO ('%s')",
+                name, from, to);
+        transactionTemplate.executeWithoutResult(status -> {
+            Boolean exists = jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, name);
+            if (Boolean.TRUE.equals(exists)) return;
+
+            Boolean stranded = jdbcTemplate.queryForObject(
+                    "SELECT EXISTS (SELECT 1 FROM transactions_default WHERE transaction_date >= ? AND transaction_date < ?)",
+                    Boolean.class, from, to);
+            if (!Boolean.TRUE.equals(stranded)) {
+                jdbcTemplate.execute(create);
+                return;
+            }
+
+            jdbcTemplate.execute("ALTER TABLE transactions DETACH PARTITION transactions_default");
+            jdbcTemplate.execute(create);
+            int moved = jdbcTemplate.update(String.format(
+                    "WITH moved AS (DELETE FROM transactions_default WHERE transaction_date >= ? AND transaction_date < ? " +
+                    "RETURNING *) INSERT INTO %s SELECT * FROM moved", name), from, to);
+            jdbcTemplate.execute("ALTER TABLE transactions ATTACH PARTITION transactions_default DEFAULT");
+            logger.info("Created partition {} and moved {} rows into it from the default partition", name, moved);
+        });
+    }
+
+    /**
+     * Drops every monthly partition before the given month, together with the rollups derived
+     * from it. Dropping a partition is a catalog operation, unlike a DELETE of the same rows.
+     */
+    @Transactional
+    public void dropPartitionsBefore(YearMonth cutoff) {
+        List<String> partitions = jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i " +
+                "JOIN pg_class c ON c.oid = i.inhrelid " +
+                "JOIN pg_class p ON p.oid = i.inhparent " +
+                "WHERE p.relname = 'transactions' AND c.relname ~ '^transactions_[0-9]{4}_[0-9]{2}$'",
+                String.class);
+        String cutoffName = partitionName(cutoff);
+        boolean dropped = false;
+        for (String partition : partitions) {
+            // yyyy_MM suffixes sort chronologically
+            if (partition.compareTo(cutoffName) < 0) {
+                jdbcTemplate.execute("DROP TABLE " + partition);
+                logger.info("Dropped transaction partition {}", partition);
+                dropped = true;
+            }
+        }
+        jdbcTemplate.update("DELETE FROM category_rollups WHERE month_start < ?", cutoff.atDay(1));
+        if (dropped) {
+            collectionVersionService.bumpAll(CollectionVersionService.Kind.TRANSACTIONS);
+            // The dropped rows leave no tombstones, so clients must reload
+            changeLogService.invalidateAll();
+        }
+    }
+}
@@ -1,24 +1,132 @@
 package com.financeapp.service;
 
+import com.financeapp.dto.TransactionPageResponse;
+import com.financeapp.dto.TransactionResponse;
+import com.financeapp.dto.TransactionSearchResponse;
 import com.financeapp.entity.Transaction;
 import com.financeapp.dto.TransactionRequest;
 import com.financeapp.entity.User;
+import com.financeapp.event.TransactionsChangedEvent;
 import com.financeapp.repository.TransactionRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
 
 @Service
 public class TransactionService {
 
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+    public static final int MAX_SEARCH_LENGTH = 100;
+    public static final int MAX_SEARCH_PAGE = 1000;
+
     @Autowired
     private TransactionRepository transactionRepository;
 
+    @Autowired
+    private CategoryRollupService categoryRollupService;
+
+    @Autowired
+    private BudgetSpendingService budgetSpendingService;
+
+    @Autowired
+    private CategoryDictionary categoryDictionary;
+
+    @Autowired
+    private ChangeLogService changeLogService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     public List<Transaction> getUserTransactions(User user) {
         return transactionRepository.findByUserOrderByTransactionDateDesc(user);
     }
 
+    // Projection reads for the list endpoints: no entity hydration or dirty-checking
+    public List<TransactionResponse> getUserTransactionResponses(User user) {
+        return transactionRepository.findResponsesByUser(user);
+    }
+
+    public List<TransactionResponse> getTransactionResponsesByDateRange(User user, LocalDate startDate, LocalDate endDate) {
+        return transactionRepository.findResponsesByUserAndTransactionDateBetween(user, startDate, endDate);
+    }
+
+    public List<TransactionResponse> getTransactionResponsesByCategory(User user, String category) {
+        return categoryDictionary.find(user.getId(), category)
+                .map(c -> transactionRepository.findResponsesByUserAndCategory(user, c.getId()))
+                .orElse(List.of());
+    }
+
+    /**
+     * Returns one page of the user's transactions, newest first. Pages are keyed on
+     * (transactionDate, id) rather than an offset, so every page costs the same index
+     * range scan regardless of how deep into the history it is.
+     */
+    public TransactionPageResponse getTransactionPage(User user, String cursor, Integer limit) {
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        // Fetch one extra row to learn whether another page exists
+        PageRequest pageRequest = PageRequest.of(0, pageSize + 1);
+
+        List<TransactionResponse> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = transactionRepository.findFirstPageByUser(user, pageRequest);
+        } else {
+            TransactionCursor after = TransactionCursor.decode(cursor);
+            rows = transactionRepository.findPageByUserAfter(user, after.getTransactionDate(), after.getId(), pageRequest);
+        }
+
+        String next = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            TransactionResponse last = rows.get(pageSize - 1);
+            next = new TransactionCursor(last.getTransactionDate(), last.getId()).encode();
+        }
+        return new TransactionPageResponse(rows, next);
+    }
+
+    /**
+     * Case-insensitive substring search with typo tolerance, best matches first.
+     * Only the requested page is read, as response columns.
+     */
+    @Transactional(readOnly = true)
+    public TransactionSearchResponse searchTransactions(User user, String query, int page, Integer size) {
+        String term = query.trim().toLowerCase(Locale.ROOT);
+        if (term.isEmpty()) throw new IllegalArgumentException("Search query must not be empty");
+        if (term.length() > MAX_SEARCH_LENGTH) term = term.substring(0, MAX_SEARCH_LENGTH);
+
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        int pageNumber = Math.max(0, Math.min(page, MAX_SEARCH_PAGE));
+        String pattern = "%" + escapeLike(term) + "%";
+
+        List<Object[]> rows = transactionRepository.search(user.getId(), pattern, term,
+                pageSize + 1, pageNumber * pageSize);
+        boolean hasMore = rows.size() > pageSize;
+        List<TransactionResponse> items = rows.stream()
+                .limit(pageSize)
+                .map(row -> new TransactionResponse(((Number) row[0]).longValue(), (String) row[1], (BigDecimal) row[2],
+                        (String) row[3], (String) row[4], toLocalDate(row[5])))
+                .collect(Collectors.toList());
+        return new TransactionSearchResponse(items, pageNumber, pageSize, hasMore);
+    }
+
+    // Native queries may return dates as java.sql.Date depending on the driver mapping
+    private static LocalDate toLocalDate(Object date) {
+        return date instanceof java.sql.Date sqlDate ? sqlDate.toLocalDate() : (LocalDate) date;
+    }
+
+    // Backslash is PostgreSQL's default LIKE escape character
+    private static String escapeLike(String s) {
+        return s.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    @Transactional
     public Transaction createTransaction(TransactionRequest request, User user) {
         Transaction.TransactionType typeEnum = request.getTransactionTypeEnum();
         if (typeEnum == null) return null;
@@ -26,21 +134,30 @@ public class TransactionService {
         Transaction transaction = new Transaction(
                 request.getDescription(),
                 request.getAmount(),
-                request.getCategory(),
+                categoryDictionary.resolve(user.getId(), request.getCategory()),
                 typeEnum,
                 request.getTransactionDate() != null ? request.getTransactionDate() : LocalDate.now(),
                 user
         );
-        return transactionRepository.save(transaction);
+        Transaction saved = transactionRepository.saveAndFlush(transaction);
+        categoryRollupService.add(saved);
+        budgetSpendingService.add(saved);
+        changeLogService.recordUpsert(user.getId(), ChangeLogService.Entity.TRANSACTION, saved.getId());
+        eventPublisher.publishEvent(new TransactionsChangedEvent(user.getId()));
+        return saved;
     }
 
-    public Transaction updateTransaction(Long id, TransactionRequest request) {
-        Transaction transaction = transactionRepository.findById(id).orElse(null);
+    @Transactional
+    public Transaction updateTransaction(Long userId, Long id, TransactionRequest request) {
+        Transaction transaction = transactionRepository.findByIdAndUserId(id, userId).orElse(null);
         if (transaction == null) return null;
 
+        // Keep the old values so their contribution can be backed out
+        Transaction before = copyOf(transaction);
+
         transaction.setDescription(request.getDescription());
         transaction.setAmount(request.getAmount());
-        transaction.setCategory(request.getCategory());
+        transaction.setCategory(categoryDictionary.resolve(userId, request.getCategory()));
 
         Transaction.TransactionType typeEnum = request.getTransactionTypeEnum();
         if (typeEnum != null) transaction.setType(typeEnum);
@@ -49,14 +166,34 @@ public class TransactionService {
             transaction.setTransactionDate(request.getTransactionDate());
         }
 
-        return transactionRepository.save(transaction);
+        Transaction saved = transactionRepository.saveAndFlush(transaction);
+        categoryRollupService.remove(before);
+        categoryRollupService.add(saved);
+        budgetSpendingService.remove(before);
+        budgetSpendingService.add(saved);
+        changeLogService.recordUpsert(userId, ChangeLogService.Entity.TRANSACTION, saved.getId());
+        eventPublisher.publishEvent(new TransactionsChangedEvent(userId));
+        return saved;
+    }
+
+    private static Transaction copyOf(Transaction t) {
+        return new Transaction(t.getDescription(), t.getAmount(), t.getCategory(),
+                t.getType(), t.getTransactionDate(), t.getUser());
     }
 
     public List<Transaction> getTransactionsByDateRange(User user, LocalDate startDate, LocalDate endDate) {
         return transactionRepository.findByUserAndTransactionDateBetween(user, startDate, endDate);
     }
 
-    public void deleteTransaction(Long id) {
-        transactionRepository.deleteById(id);
+    @Transactional
+    public void deleteTransaction(Long userId, Long id) {
+        transactionRepository.findByIdAndUserId(id, userId).ifPresent(transaction -> {
+            transactionRepository.delete(transaction);
+            transactionRepository.flush();
+            categoryRollupService.remove(transaction);
+            budgetSpendingService.remove(transaction);
+            changeLogService.recordDelete(userId, ChangeLogService.Entity.TRANSACTION, id);
+            eventPublisher.publishEvent(new TransactionsChangedEvent(userId));
+        });
     }
 }
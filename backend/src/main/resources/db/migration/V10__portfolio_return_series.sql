@@ -0,0 +1,13 @@
+-- Closed-day portfolio series behind GET /api/investments/returns, written by the nightly
+-- batch so a request only appends the days since and re-values today. value_cents and
+-- flow_cents hold one big-endian int8 per day from start_day; etag is the investments
+-- version the series was built for, and a series under any other version is ignored.
+
+CREATE TABLE portfolio_return_series (
+    user_id     bigint       PRIMARY KEY REFERENCES users (id),
+    etag        varchar(128) NOT NULL,
+    start_day   integer      NOT NULL,
+    value_cents bytea        NOT NULL,
+    flow_cents  bytea        NOT NULL,
+    updated_at  timestamp    NOT NULL DEFAULT now()
+);
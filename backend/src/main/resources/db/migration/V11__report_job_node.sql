@@ -0,0 +1,7 @@
+-- Report output goes to a node-local directory, so each job records the node that runs it.
+-- At startup a node only re-queues its own interrupted jobs; rows from before this column
+-- have no node and are claimed by the first node to start.
+
+ALTER TABLE report_jobs ADD COLUMN node varchar(255);
+
+CREATE INDEX idx_report_jobs_node_status ON report_jobs (node, status);
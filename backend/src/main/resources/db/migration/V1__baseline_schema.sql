@@ -0,0 +1,102 @@
+-- Baseline: the schema previously created by spring.jpa.hibernate.ddl-auto=update.
+-- Written with IF NOT EXISTS so it applies cleanly both to empty databases and to
+-- databases that were managed by Hibernate before migrations were introduced.
+
+CREATE TABLE IF NOT EXISTS users (
+    id                 bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username           varchar(50)  NOT NULL UNIQUE,
+    email              varchar(100) NOT NULL UNIQUE,
+    password           varchar(100) NOT NULL,
+    first_name         varchar(255),
+    last_name          varchar(255),
+    phone_country_code varchar(255),
+    phone_number       varchar(255),
+    created_at         timestamp(6) NOT NULL,
+    updated_at         timestamp(6) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS transactions (
+    id               bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    description      varchar(200),
+    amount           numeric(10, 2),
+    category         varchar(255),
+    transaction_type varchar(255) CHECK (transaction_type IN ('INCOME', 'EXPENSE')),
+    transaction_date date,
+    created_at       timestamp(6),
+    user_id          bigint REFERENCES users (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_transactions_user_date_id
+    ON transactions (user_id, transaction_date DESC, id DESC);
+
+CREATE TABLE IF NOT EXISTS budgets (
+    id              bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    category        varchar(255),
+    budgeted_amount numeric(10, 2),
+    spent_amount    numeric(10, 2),
+    period          varchar(255) CHECK (period IN ('WEEKLY', 'MONTHLY', 'YEARLY')),
+    period_start    date,
+    created_at      timestamp(6),
+    updated_at      timestamp(6),
+    user_id         bigint REFERENCES users (id)
+);
+
+ALTER TABLE budgets ADD COLUMN IF NOT EXISTS period_start date;
+
+CREATE TABLE IF NOT EXISTS investments (
+    id             bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    symbol         varchar(255)   NOT NULL,
+    name           varchar(255)   NOT NULL,
+    shares         integer        NOT NULL,
+    purchase_price numeric(10, 2) NOT NULL,
+    current_price  numeric(10, 2) NOT NULL,
+    created_at     timestamp(6)   NOT NULL,
+    updated_at     timestamp(6)   NOT NULL,
+    user_id        bigint         NOT NULL REFERENCES users (id)
+);
+
+CREATE TABLE IF NOT EXISTS category_rollups (
+    id               bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id          bigint         NOT NULL REFERENCES users (id),
+    month_start      date           NOT NULL,
+    category         varchar(255)   NOT NULL,
+    transaction_type varchar(255)   NOT NULL CHECK (transaction_type IN ('INCOME', 'EXPENSE')),
+    total_amount     numeric(14, 2) NOT NULL,
+    txn_count        bigint         NOT NULL,
+    CONSTRAINT uk_category_rollups_key UNIQUE (user_id, month_start, category, transaction_type)
+);
+
+CREATE TABLE IF NOT EXISTS otp_store (
+    id          bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    email       varchar(255) NOT NULL,
+    otp         varchar(6)   NOT NULL,
+    expiry_time timestamp(6) NOT NULL,
+    verified    boolean      NOT NULL,
+    purpose     varchar(255) NOT NULL,
+    created_at  timestamp(6) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS email_otps (
+    id         bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    email      varchar(100) NOT NULL,
+    otp_code   varchar(10)  NOT NULL,
+    purpose    varchar(30)  NOT NULL,
+    expires_at timestamp(6) NOT NULL,
+    used       boolean      NOT NULL,
+    created_at timestamp(6) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS otp_codes (
+    id           bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    phone_e164   varchar(20)  NOT NULL,
+    code         varchar(10)  NOT NULL,
+    expires_at   timestamp(6) NOT NULL,
+    verified     boolean      NOT NULL,
+    consumed     boolean      NOT NULL,
+    reset_token  varchar(64),
+    attempts     integer      NOT NULL,
+    created_at   timestamp(6) NOT NULL,
+    last_sent_at timestamp(6)
+);
+
+CREATE INDEX IF NOT EXISTS idx_otp_phone ON otp_codes (phone_e164);
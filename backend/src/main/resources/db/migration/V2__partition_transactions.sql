@@ -0,0 +1,55 @@
+-- Convert transactions into a table range-partitioned by transaction_date, one partition
+-- per month. Date-range reads prune to the months they touch and old history can be
+-- removed with DROP TABLE on a partition instead of a bulk DELETE.
+-- Future partitions are created ahead of time by TransactionPartitionService.
+
+ALTER TABLE transactions RENAME TO transactions_unpartitioned;
+ALTER TABLE transactions_unpartitioned RENAME CONSTRAINT transactions_pkey TO transactions_unpartitioned_pkey;
+ALTER INDEX IF EXISTS idx_transactions_user_date_id RENAME TO idx_transactions_unpartitioned_user_date_id;
+
+-- Identity columns are not supported on partitioned tables; use a plain sequence default
+CREATE SEQUENCE transactions_pk_seq;
+
+CREATE TABLE transactions (
+    id               bigint       NOT NULL DEFAULT nextval('transactions_pk_seq'),
+    description      varchar(200),
+    amount           numeric(10, 2),
+    category         varchar(255),
+    transaction_type varchar(255) CHECK (transaction_type IN ('INCOME', 'EXPENSE')),
+    transaction_date date         NOT NULL,
+    created_at       timestamp(6),
+    user_id          bigint REFERENCES users (id),
+    -- the partition key has to be part of every unique constraint
+    PRIMARY KEY (id, transaction_date)
+) PARTITION BY RANGE (transaction_date);
+
+ALTER SEQUENCE transactions_pk_seq OWNED BY transactions.id;
+
+-- Defined on the parent, so every partition (present and future) gets its own copy
+CREATE INDEX idx_transactions_user_date_id ON transactions (user_id, transaction_date DESC, id DESC);
+
+-- Catches dates outside the managed range (e.g. far-future typos)
+CREATE TABLE transactions_default PARTITION OF transactions DEFAULT;
+
+DO $$
+DECLARE
+    m    date := date_trunc('month', COALESCE((SELECT min(transaction_date) FROM transactions_unpartitioned), current_date))::date;
+    last date := (date_trunc('month', current_date) + interval '3 months')::date;
+BEGIN
+    WHILE m <= last LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF transactions FOR VALUES FROM (%L) TO (%L)',
+                       'transactions_' || to_char(m, 'YYYY_MM'), m, (m + interval '1 month')::date);
+        m := (m + interval '1 month')::date;
+    END LOOP;
+END $$;
+
+INSERT INTO transactions (id, description, amount, category, transaction_type, transaction_date, created_at, user_id)
+SELECT id, description, amount, category, transaction_type,
+       COALESCE(transaction_date, created_at::date, current_date), created_at, user_id
+FROM transactions_unpartitioned;
+
+SELECT setval('transactions_pk_seq', COALESCE((SELECT max(id) FROM transactions), 0) + 1, false);
+
+DROP TABLE transactions_unpartitioned;
+
+ANALYZE transactions;
@@ -0,0 +1,9 @@
+-- Trigram index for free-text search over description and category (TransactionRepository.search).
+-- btree_gin lets user_id live in the same GIN index, so one index scan covers
+-- "this user's rows whose text contains the query". The indexed expression must match the
+-- one used by the query exactly.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE EXTENSION IF NOT EXISTS btree_gin;
+
+CREATE INDEX idx_transactions_search_trgm ON transactions
+    USING gin (user_id, (lower(coalesce(description, '') || ' ' || coalesce(category, ''))) gin_trgm_ops);
@@ -0,0 +1,60 @@
+-- Per-user category dictionary. Transactions, budgets and rollups store an integer
+-- category_id instead of repeating the name on every row, so renaming a category
+-- is a single-row update.
+
+CREATE TABLE categories (
+    id      integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id bigint       NOT NULL REFERENCES users (id),
+    name    varchar(255) NOT NULL,
+    CONSTRAINT uk_categories_user_name UNIQUE (user_id, name)
+);
+
+UPDATE transactions SET category = 'Uncategorized' WHERE category IS NULL;
+UPDATE budgets SET category = 'Uncategorized' WHERE category IS NULL;
+
+INSERT INTO categories (user_id, name)
+SELECT user_id, category FROM transactions WHERE user_id IS NOT NULL
+UNION
+SELECT user_id, category FROM budgets WHERE user_id IS NOT NULL;
+
+-- transactions
+ALTER TABLE transactions ADD COLUMN category_id integer REFERENCES categories (id);
+UPDATE transactions t SET category_id = c.id
+FROM categories c WHERE c.user_id = t.user_id AND c.name = t.category;
+
+-- The V3 search index covers the category text; category matches now go through categories
+DROP INDEX IF EXISTS idx_transactions_search_trgm;
+ALTER TABLE transactions DROP COLUMN category;
+
+CREATE INDEX idx_transactions_search_trgm ON transactions
+    USING gin (user_id, (lower(coalesce(description, ''))) gin_trgm_ops);
+CREATE INDEX idx_transactions_user_category ON transactions (user_id, category_id, transaction_date DESC);
+
+-- budgets
+ALTER TABLE budgets ADD COLUMN category_id integer REFERENCES categories (id);
+UPDATE budgets b SET category_id = c.id
+FROM categories c WHERE c.user_id = b.user_id AND c.name = b.category;
+ALTER TABLE budgets DROP COLUMN category;
+CREATE INDEX idx_budgets_user_category ON budgets (user_id, category_id);
+
+-- category_rollups is derived data: recreate it keyed by category_id and repopulate
+DROP TABLE category_rollups;
+
+CREATE TABLE category_rollups (
+    id               bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id          bigint         NOT NULL REFERENCES users (id),
+    month_start      date           NOT NULL,
+    category_id      integer        NOT NULL REFERENCES categories (id),
+    transaction_type varchar(255)   NOT NULL CHECK (transaction_type IN ('INCOME', 'EXPENSE')),
+    total_amount     numeric(14, 2) NOT NULL,
+    txn_count        bigint         NOT NULL,
+    CONSTRAINT uk_category_rollups_key UNIQUE (user_id, month_start, category_id, transaction_type)
+);
+
+INSERT INTO category_rollups (user_id, month_start, category_id, transaction_type, total_amount, txn_count)
+SELECT user_id, date_trunc('month', transaction_date)::date, category_id, transaction_type, SUM(amount), COUNT(*)
+FROM transactions
+WHERE user_id IS NOT NULL AND category_id IS NOT NULL AND transaction_type IS NOT NULL
+GROUP BY 1, 2, 3, 4;
+
+ANALYZE transactions;
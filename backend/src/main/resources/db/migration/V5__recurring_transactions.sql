@@ -0,0 +1,26 @@
+-- Recurring transaction templates. next_index/next_due are the materialization watermark:
+-- occurrences before next_index have been written to transactions, and next_due is the
+-- date of occurrence number next_index. Both advance in the same DB transaction as the
+-- inserts, so a restart neither repeats nor skips an occurrence.
+
+CREATE TABLE recurring_transactions (
+    id               bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id          bigint        NOT NULL REFERENCES users (id),
+    description      varchar(200)  NOT NULL,
+    amount           numeric(10, 2) NOT NULL,
+    category_id      integer       NOT NULL REFERENCES categories (id),
+    transaction_type varchar(255)  NOT NULL CHECK (transaction_type IN ('INCOME', 'EXPENSE')),
+    frequency        varchar(16)   NOT NULL CHECK (frequency IN ('DAILY', 'WEEKLY', 'MONTHLY', 'YEARLY')),
+    interval_count   integer       NOT NULL CHECK (interval_count > 0),
+    start_date       date          NOT NULL,
+    end_date         date,
+    next_index       bigint        NOT NULL DEFAULT 0,
+    next_due         date,
+    created_at       timestamp     NOT NULL,
+    updated_at       timestamp     NOT NULL
+);
+
+CREATE INDEX idx_recurring_transactions_user ON recurring_transactions (user_id);
+-- The scheduler scans due templates in id order; finished templates have next_due NULL
+CREATE INDEX idx_recurring_transactions_due ON recurring_transactions (id, next_due)
+    WHERE next_due IS NOT NULL;
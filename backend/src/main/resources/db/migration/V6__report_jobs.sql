@@ -0,0 +1,25 @@
+-- Asynchronous report jobs. request_key identifies the report (user, type, format, range);
+-- the partial unique index allows only one in-flight job per key, so identical requests
+-- made while a job is queued or running share it.
+
+CREATE TABLE report_jobs (
+    id           bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id      bigint       NOT NULL REFERENCES users (id),
+    request_key  varchar(255) NOT NULL,
+    report_type  varchar(64)  NOT NULL,
+    format       varchar(16)  NOT NULL,
+    from_date    date         NOT NULL,
+    to_date      date         NOT NULL,
+    status       varchar(16)  NOT NULL CHECK (status IN ('QUEUED', 'RUNNING', 'SUCCEEDED', 'FAILED')),
+    result_path  varchar(1024),
+    result_bytes bigint,
+    error        varchar(1000),
+    created_at   timestamp    NOT NULL,
+    started_at   timestamp,
+    finished_at  timestamp
+);
+
+CREATE UNIQUE INDEX uk_report_jobs_in_flight ON report_jobs (request_key)
+    WHERE status IN ('QUEUED', 'RUNNING');
+CREATE INDEX idx_report_jobs_user_created ON report_jobs (user_id, created_at DESC);
+CREATE INDEX idx_report_jobs_finished ON report_jobs (finished_at);
@@ -0,0 +1,10 @@
+-- Per-user version counters for list endpoints. Every write to a collection bumps its
+-- counter in the same DB transaction; GETs derive a strong ETag from it, so an unchanged
+-- list is answered with 304 from this one-row lookup.
+
+CREATE TABLE collection_versions (
+    user_id    bigint      NOT NULL REFERENCES users (id),
+    collection varchar(32) NOT NULL,
+    version    bigint      NOT NULL,
+    PRIMARY KEY (user_id, collection)
+);
@@ -0,0 +1,24 @@
+-- Append-only change feed behind GET /api/sync. Writers take a per-user advisory lock
+-- before drawing seq, so within one user seq order is commit order and a client that has
+-- read up to some seq can never later miss a smaller one.
+
+CREATE TABLE change_log (
+    seq        bigint GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    user_id    bigint      NOT NULL REFERENCES users (id),
+    entity     varchar(16) NOT NULL,
+    entity_id  bigint      NOT NULL,
+    deleted    boolean     NOT NULL,
+    changed_at timestamp   NOT NULL DEFAULT now()
+);
+
+CREATE INDEX idx_change_log_user_seq ON change_log (user_id, seq);
+-- Rows arrive in time order, so a BRIN index is enough for pruning by age
+CREATE INDEX idx_change_log_changed_at ON change_log USING brin (changed_at);
+
+-- History up to and including seq has been pruned; older tokens need a full resync
+CREATE TABLE change_log_floor (
+    id  smallint PRIMARY KEY DEFAULT 1 CHECK (id = 1),
+    seq bigint   NOT NULL
+);
+
+INSERT INTO change_log_floor (seq) VALUES (0);
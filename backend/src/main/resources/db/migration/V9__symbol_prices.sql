@@ -0,0 +1,18 @@
+-- Latest price per symbol, written by the price tick ingest path together with a single
+-- set-based update of every holding of the symbol. Ticks older than as_of are dropped.
+-- seq is drawn under the ingest lock on every accepted tick, so it grows in commit order
+-- and "seq > token" finds every price set since a sync token.
+
+CREATE SEQUENCE symbol_prices_seq;
+
+CREATE TABLE symbol_prices (
+    symbol varchar(255)   PRIMARY KEY,
+    price  numeric(10, 2) NOT NULL,
+    as_of  timestamp      NOT NULL,
+    seq    bigint         NOT NULL DEFAULT nextval('symbol_prices_seq')
+);
+
+CREATE INDEX idx_symbol_prices_seq ON symbol_prices (seq);
+
+-- Holdings are matched to ticks case-insensitively
+CREATE INDEX idx_investments_upper_symbol ON investments (upper(symbol));